@@ -0,0 +1,476 @@
+/**
+ * Copyright 2014 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package rx.observables;
+
+import io.reactivex.rxjava3.core.BackpressureOverflowStrategy;
+import io.reactivex.rxjava3.core.BackpressureStrategy;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Observable;
+
+import javax.swing.*;
+import javax.swing.colorchooser.ColorSelectionModel;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.ListSelectionEvent;
+import javax.swing.text.Document;
+import java.awt.*;
+import java.awt.event.*;
+import java.beans.PropertyChangeEvent;
+import java.util.Set;
+
+/**
+ * Allows creating flowables from various sources specific to Swing, the backpressure-aware counterparts
+ * of the {@link SwingObservable} factories.
+ * <p>
+ * Each factory takes the {@link BackpressureStrategy} applied to events the subscriber has not requested.
+ * The strategy acts on the Swing UI thread, while the listener dispatches the event, so events dropped by
+ * {@link BackpressureStrategy#DROP DROP} or {@link BackpressureStrategy#LATEST LATEST} are never queued.
+ * {@link BackpressureStrategy#BUFFER BUFFER} is bounded by {@link Flowable#bufferSize()} and signals a
+ * {@link io.reactivex.rxjava3.exceptions.MissingBackpressureException} once the subscriber falls further behind.
+ * To pick the capacity and what happens when it is exceeded, pass the corresponding {@link SwingObservable}
+ * to {@link #fromEvents(Observable, int, BackpressureOverflowStrategy)} instead.
+ */
+public enum SwingFlowable {
+    ; // no instances
+
+    /**
+     * Creates a flowable corresponding to a Swing button action.
+     *
+     * @param button The button to register the flowable for.
+     * @param strategy How to handle events the subscriber has not requested yet.
+     * @return Flowable of action events.
+     */
+    public static Flowable<ActionEvent> fromButtonAction(AbstractButton button, BackpressureStrategy strategy) {
+        return withBackpressure(SwingObservable.fromButtonAction(button), strategy);
+    }
+
+    /**
+     * Creates a flowable corresponding to raw key events.
+     *
+     * @param component The component to register the flowable for.
+     * @param strategy How to handle events the subscriber has not requested yet.
+     * @return Flowable of key events.
+     */
+    public static Flowable<KeyEvent> fromKeyEvents(Component component, BackpressureStrategy strategy) {
+        return withBackpressure(SwingObservable.fromKeyEvents(component), strategy);
+    }
+
+    /**
+     * Creates a flowable corresponding to raw key events, restricted to the given key codes.
+     *
+     * @param component The component to register the flowable for.
+     * @param keyCodes The key codes of the events to emit.
+     * @param strategy How to handle events the subscriber has not requested yet.
+     * @return Flowable of key events.
+     */
+    public static Flowable<KeyEvent> fromKeyEvents(Component component, final Set<Integer> keyCodes, BackpressureStrategy strategy) {
+        return withBackpressure(SwingObservable.fromKeyEvents(component, keyCodes), strategy);
+    }
+
+    /**
+     * Creates a flowable emitting the key codes of all currently pressed keys each time they change.
+     *
+     * @param component The component to register the flowable for.
+     * @param strategy How to handle events the subscriber has not requested yet.
+     * @return Flowable of the sets of currently pressed key codes.
+     */
+    public static Flowable<Set<Integer>> fromPressedKeys(Component component, BackpressureStrategy strategy) {
+        return withBackpressure(SwingObservable.fromPressedKeys(component), strategy);
+    }
+
+    /**
+     * Creates a flowable corresponding to raw mouse events (excluding mouse motion events).
+     *
+     * @param component The component to register the flowable for.
+     * @param strategy How to handle events the subscriber has not requested yet.
+     * @return Flowable of mouse events.
+     */
+    public static Flowable<MouseEvent> fromMouseEvents(Component component, BackpressureStrategy strategy) {
+        return withBackpressure(SwingObservable.fromMouseEvents(component), strategy);
+    }
+
+    /**
+     * Creates a flowable corresponding to raw mouse motion events.
+     *
+     * @param component The component to register the flowable for.
+     * @param strategy How to handle events the subscriber has not requested yet.
+     * @return Flowable of mouse motion events.
+     */
+    public static Flowable<MouseEvent> fromMouseMotionEvents(Component component, BackpressureStrategy strategy) {
+        return withBackpressure(SwingObservable.fromMouseMotionEvents(component), strategy);
+    }
+
+    /**
+     * Creates a flowable corresponding to relative mouse motion.
+     *
+     * @param component The component to register the flowable for.
+     * @param strategy How to handle events the subscriber has not requested yet.
+     * @return Flowable of points whose x and y coordinates are the horizontal and vertical mouse motion since the previous event.
+     */
+    public static Flowable<Point> fromRelativeMouseMotion(Component component, BackpressureStrategy strategy) {
+        return withBackpressure(SwingObservable.fromRelativeMouseMotion(component), strategy);
+    }
+
+    /**
+     * Creates a flowable corresponding to raw mouse wheel events.
+     *
+     * @param component The component to register the flowable for.
+     * @param strategy How to handle events the subscriber has not requested yet.
+     * @return Flowable of mouse wheel events.
+     */
+    public static Flowable<MouseWheelEvent> fromMouseWheelEvents(Component component, BackpressureStrategy strategy) {
+        return withBackpressure(SwingObservable.fromMouseWheelEvents(component), strategy);
+    }
+
+    /**
+     * Creates a flowable corresponding to raw component events.
+     *
+     * @param component The component to register the flowable for.
+     * @param strategy How to handle events the subscriber has not requested yet.
+     * @return Flowable of component events.
+     */
+    public static Flowable<ComponentEvent> fromComponentEvents(Component component, BackpressureStrategy strategy) {
+        return withBackpressure(SwingObservable.fromComponentEvents(component), strategy);
+    }
+
+    /**
+     * Creates a flowable corresponding to focus events.
+     *
+     * @param component The component to register the flowable for.
+     * @param strategy How to handle events the subscriber has not requested yet.
+     * @return Flowable of focus events.
+     */
+    public static Flowable<FocusEvent> fromFocusEvents(Component component, BackpressureStrategy strategy) {
+        return withBackpressure(SwingObservable.fromFocusEvents(component), strategy);
+    }
+
+    /**
+     * Creates a flowable corresponding to component resize events.
+     *
+     * @param component The component to register the flowable for.
+     * @param strategy How to handle events the subscriber has not requested yet.
+     * @return Flowable of the size of the component after each resize.
+     */
+    public static Flowable<Dimension> fromResizing(Component component, BackpressureStrategy strategy) {
+        return withBackpressure(SwingObservable.fromResizing(component), strategy);
+    }
+
+    /**
+     * Creates a flowable corresponding to item events.
+     *
+     * @param itemSelectable The item selectable to register the flowable for.
+     * @param strategy How to handle events the subscriber has not requested yet.
+     * @return Flowable of item events.
+     */
+    public static Flowable<ItemEvent> fromItemEvents(ItemSelectable itemSelectable, BackpressureStrategy strategy) {
+        return withBackpressure(SwingObservable.fromItemEvents(itemSelectable), strategy);
+    }
+
+    /**
+     * Creates a flowable corresponding to item selection events.
+     *
+     * @param itemSelectable The item selectable to register the flowable for.
+     * @param strategy How to handle events the subscriber has not requested yet.
+     * @return Flowable of the item events of selected items.
+     */
+    public static Flowable<ItemEvent> fromItemSelectionEvents(ItemSelectable itemSelectable, BackpressureStrategy strategy) {
+        return withBackpressure(SwingObservable.fromItemSelectionEvents(itemSelectable), strategy);
+    }
+
+    /**
+     * Creates a flowable corresponding to item deselection events.
+     *
+     * @param itemSelectable The item selectable to register the flowable for.
+     * @param strategy How to handle events the subscriber has not requested yet.
+     * @return Flowable of the item events of deselected items.
+     */
+    public static Flowable<ItemEvent> fromItemDeselectionEvents(ItemSelectable itemSelectable, BackpressureStrategy strategy) {
+        return withBackpressure(SwingObservable.fromItemDeselectionEvents(itemSelectable), strategy);
+    }
+
+    /**
+     * Creates a flowable corresponding to list selection events (e.g. from a JList or a JTable row / column selection).
+     * <p>
+     * See <a href="https://docs.oracle.com/javase/tutorial/uiswing/events/listselectionlistener.html">
+     * How to Write a List Selection Listener</a> for when these events occur.
+     *
+     * @param listSelectionModel The list selection model to register the flowable for.
+     * @param strategy How to handle events the subscriber has not requested yet.
+     * @return Flowable of list selection events.
+     */
+    public static Flowable<ListSelectionEvent> fromListSelectionEvents(ListSelectionModel listSelectionModel, BackpressureStrategy strategy) {
+        return withBackpressure(SwingObservable.fromListSelectionEvents(listSelectionModel), strategy);
+    }
+
+    /**
+     * Creates a flowable corresponding to property change events.
+     *
+     * @param component The component to register the flowable for.
+     * @param strategy How to handle events the subscriber has not requested yet.
+     * @return Flowable of property change events.
+     */
+    public static Flowable<PropertyChangeEvent> fromPropertyChangeEvents(Component component, BackpressureStrategy strategy) {
+        return withBackpressure(SwingObservable.fromPropertyChangeEvents(component), strategy);
+    }
+
+    /**
+     * Creates a flowable corresponding to property change events filtered by property name.
+     *
+     * @param component The component to register the flowable for.
+     * @param propertyName The name of the property whose changes to emit.
+     * @param strategy How to handle events the subscriber has not requested yet.
+     * @return Flowable of the property change events of the named property.
+     */
+    public static Flowable<PropertyChangeEvent> fromPropertyChangeEvents(Component component, final String propertyName, BackpressureStrategy strategy) {
+        return withBackpressure(SwingObservable.fromPropertyChangeEvents(component, propertyName), strategy);
+    }
+
+    /**
+     * Creates a flowable corresponding to window events (e.g. window opened or closed).
+     *
+     * @param window The window to register the flowable for.
+     * @param strategy How to handle events the subscriber has not requested yet.
+     * @return Flowable of window events.
+     */
+    public static Flowable<WindowEvent> fromWindowEventsOf(Window window, BackpressureStrategy strategy) {
+        return withBackpressure(SwingObservable.fromWindowEventsOf(window), strategy);
+    }
+
+    /**
+     * Creates a flowable corresponding to document events.
+     *
+     * @param document The document to register the flowable for.
+     * @param strategy How to handle events the subscriber has not requested yet.
+     * @return Flowable of document events.
+     */
+    public static Flowable<DocumentEvent> fromDocumentEvents(Document document, BackpressureStrategy strategy) {
+        return withBackpressure(SwingObservable.fromDocumentEvents(document), strategy);
+    }
+
+    /**
+     * Creates a flowable corresponding to document events, restricted to the given event types.
+     *
+     * @param document The document to register the flowable for.
+     * @param eventTypes The types of the events to emit.
+     * @param strategy How to handle events the subscriber has not requested yet.
+     * @return Flowable of document events.
+     */
+    public static Flowable<DocumentEvent> fromDocumentEvents(Document document, final Set<DocumentEvent.EventType> eventTypes, BackpressureStrategy strategy) {
+        return withBackpressure(SwingObservable.fromDocumentEvents(document, eventTypes), strategy);
+    }
+
+    /**
+     * Creates a flowable corresponding to change events (e.g. tab selection).
+     * <p>
+     * See <a href="https://docs.oracle.com/javase/tutorial/uiswing/events/changelistener.html">How to Write a
+     * Change Listener</a> for when these events occur.
+     *
+     * @param component The component to register the flowable for.
+     * @param strategy How to handle events the subscriber has not requested yet.
+     * @return Flowable of change events.
+     */
+    public static Flowable<ChangeEvent> fromChangeEvents(JTabbedPane component, BackpressureStrategy strategy) {
+        return withBackpressure(SwingObservable.fromChangeEvents(component), strategy);
+    }
+
+    /**
+     * Creates a flowable corresponding to change events (e.g. value changes).
+     * <p>
+     * See <a href="https://docs.oracle.com/javase/tutorial/uiswing/events/changelistener.html">How to Write a
+     * Change Listener</a> for when these events occur.
+     *
+     * @param component The component to register the flowable for.
+     * @param strategy How to handle events the subscriber has not requested yet.
+     * @return Flowable of change events.
+     */
+    public static Flowable<ChangeEvent> fromChangeEvents(JSlider component, BackpressureStrategy strategy) {
+        return withBackpressure(SwingObservable.fromChangeEvents(component), strategy);
+    }
+
+    /**
+     * Creates a flowable corresponding to change events (e.g. value changes).
+     * <p>
+     * See <a href="https://docs.oracle.com/javase/tutorial/uiswing/events/changelistener.html">How to Write a
+     * Change Listener</a> and <a href="https://docs.oracle.com/javase/tutorial/uiswing/components/spinner.html#change">
+     * How to Use Spinners</a> for when these events occur.
+     *
+     * @param component The component to register the flowable for.
+     * @param strategy How to handle events the subscriber has not requested yet.
+     * @return Flowable of change events.
+     */
+    public static Flowable<ChangeEvent> fromChangeEvents(JSpinner component, BackpressureStrategy strategy) {
+        return withBackpressure(SwingObservable.fromChangeEvents(component), strategy);
+    }
+
+    /**
+     * Creates a flowable corresponding to change events (e.g. value changes).
+     * <p>
+     * See <a href="https://docs.oracle.com/javase/tutorial/uiswing/events/changelistener.html">How to Write a
+     * Change Listener</a> and <a href="https://docs.oracle.com/javase/tutorial/uiswing/components/spinner.html#change">
+     * How to Use Spinners</a> for when these events occur.
+     *
+     * @param spinnerModel The spinner model to register the flowable for.
+     * @param strategy How to handle events the subscriber has not requested yet.
+     * @return Flowable of change events.
+     */
+    public static Flowable<ChangeEvent> fromChangeEvents(SpinnerModel spinnerModel, BackpressureStrategy strategy) {
+        return withBackpressure(SwingObservable.fromChangeEvents(spinnerModel), strategy);
+    }
+
+    /**
+     * Creates a flowable corresponding to change events (e.g. button state changes).
+     * <p>
+     * See <a href="https://docs.oracle.com/javase/tutorial/uiswing/events/changelistener.html">How to Write a
+     * Change Listener</a> for when these events occur.
+     *
+     * @param component The component to register the flowable for.
+     * @param strategy How to handle events the subscriber has not requested yet.
+     * @return Flowable of change events.
+     */
+    public static Flowable<ChangeEvent> fromChangeEvents(AbstractButton component, BackpressureStrategy strategy) {
+        return withBackpressure(SwingObservable.fromChangeEvents(component), strategy);
+    }
+
+    /**
+     * Creates a flowable corresponding to change events (e.g. button state changes).
+     * <p>
+     * See <a href="https://docs.oracle.com/javase/tutorial/uiswing/events/changelistener.html">How to Write a
+     * Change Listener</a> for when these events occur.
+     *
+     * @param buttonModel The button model to register the flowable for.
+     * @param strategy How to handle events the subscriber has not requested yet.
+     * @return Flowable of change events.
+     */
+    public static Flowable<ChangeEvent> fromChangeEvents(ButtonModel buttonModel, BackpressureStrategy strategy) {
+        return withBackpressure(SwingObservable.fromChangeEvents(buttonModel), strategy);
+    }
+
+    /**
+     * Creates a flowable corresponding to change events (e.g. scrolling).
+     * <p>
+     * See <a href="https://docs.oracle.com/javase/tutorial/uiswing/events/changelistener.html">How to Write a
+     * Change Listener</a> for when these events occur.
+     *
+     * @param component The component to register the flowable for.
+     * @param strategy How to handle events the subscriber has not requested yet.
+     * @return Flowable of change events.
+     */
+    public static Flowable<ChangeEvent> fromChangeEvents(JViewport component, BackpressureStrategy strategy) {
+        return withBackpressure(SwingObservable.fromChangeEvents(component), strategy);
+    }
+
+    /**
+     * Creates a flowable corresponding to change events (e.g. from a color chooser).
+     * <p>
+     * See <a href="https://docs.oracle.com/javase/tutorial/uiswing/events/changelistener.html">How to Write a
+     * Change Listener</a> for when these events occur.
+     *
+     * @param colorSelectionModel The color selection model to register the flowable for.
+     * @param strategy How to handle events the subscriber has not requested yet.
+     * @return Flowable of change events.
+     */
+    public static Flowable<ChangeEvent> fromChangeEvents(ColorSelectionModel colorSelectionModel, BackpressureStrategy strategy) {
+        return withBackpressure(SwingObservable.fromChangeEvents(colorSelectionModel), strategy);
+    }
+
+    /**
+     * Creates a flowable corresponding to change events (e.g. progress bar value changes).
+     * <p>
+     * See <a href="https://docs.oracle.com/javase/tutorial/uiswing/events/changelistener.html">How to Write a
+     * Change Listener</a> for when these events occur.
+     *
+     * @param component The component to register the flowable for.
+     * @param strategy How to handle events the subscriber has not requested yet.
+     * @return Flowable of change events.
+     */
+    public static Flowable<ChangeEvent> fromChangeEvents(JProgressBar component, BackpressureStrategy strategy) {
+        return withBackpressure(SwingObservable.fromChangeEvents(component), strategy);
+    }
+
+    /**
+     * Creates a flowable corresponding to change events (e.g. progress bar value changes).
+     * <p>
+     * See <a href="https://docs.oracle.com/javase/tutorial/uiswing/events/changelistener.html">How to Write a
+     * Change Listener</a> for when these events occur.
+     *
+     * @param boundedRangeModel The bounded range model to register the flowable for.
+     * @param strategy How to handle events the subscriber has not requested yet.
+     * @return Flowable of change events.
+     */
+    public static Flowable<ChangeEvent> fromChangeEvents(BoundedRangeModel boundedRangeModel, BackpressureStrategy strategy) {
+        return withBackpressure(SwingObservable.fromChangeEvents(boundedRangeModel), strategy);
+    }
+
+    /**
+     * Creates a flowable corresponding to container events (e.g. component added).
+     *
+     * @param container The container to register the flowable for.
+     * @param strategy How to handle events the subscriber has not requested yet.
+     * @return Flowable of container events.
+     */
+    public static Flowable<ContainerEvent> fromContainerEvents(Container container, BackpressureStrategy strategy) {
+        return withBackpressure(SwingObservable.fromContainerEvents(container), strategy);
+    }
+
+    /**
+     * Creates a flowable corresponding to hierarchy events (e.g. parent added).
+     *
+     * @param component The component to register the flowable for.
+     * @param strategy How to handle events the subscriber has not requested yet.
+     * @return Flowable of hierarchy events.
+     */
+    public static Flowable<HierarchyEvent> fromHierarchyEvents(Component component, BackpressureStrategy strategy) {
+        return withBackpressure(SwingObservable.fromHierarchyEvents(component), strategy);
+    }
+
+    /**
+     * Creates a flowable corresponding to hierarchy bounds events (e.g. parent resized).
+     *
+     * @param component The component to register the flowable for.
+     * @param strategy How to handle events the subscriber has not requested yet.
+     * @return Flowable of hierarchy bounds events.
+     */
+    public static Flowable<HierarchyEvent> fromHierarchyBoundsEvents(Component component, BackpressureStrategy strategy) {
+        return withBackpressure(SwingObservable.fromHierarchyBoundsEvents(component), strategy);
+    }
+
+    /**
+     * Creates a flowable buffering the events of the given source, typically one of the {@link SwingObservable}
+     * factories, that the subscriber has not requested yet.
+     * <p>
+     * For example, {@code SwingFlowable.fromEvents(SwingObservable.fromMouseMotionEvents(component), 64,
+     * BackpressureOverflowStrategy.DROP_OLDEST)} keeps the 64 most recent mouse motion events.
+     *
+     * @param <T> The type of the events.
+     * @param events The events to buffer.
+     * @param bufferCapacity How many events are buffered at most.
+     * @param overflowStrategy What happens to an event arriving while the buffer is full;
+     *                         {@link BackpressureOverflowStrategy#ERROR ERROR} signals a
+     *                         {@link io.reactivex.rxjava3.exceptions.MissingBackpressureException}.
+     * @return Flowable of the buffered events.
+     */
+    public static <T> Flowable<T> fromEvents(Observable<T> events, int bufferCapacity, BackpressureOverflowStrategy overflowStrategy) {
+        return events.toFlowable(BackpressureStrategy.MISSING).onBackpressureBuffer(bufferCapacity, null, overflowStrategy);
+    }
+
+    private static <T> Flowable<T> withBackpressure(Observable<T> events, BackpressureStrategy strategy) {
+        if (strategy == BackpressureStrategy.BUFFER) {
+            // bounded, unlike Observable.toFlowable(BUFFER)
+            return events.toFlowable(BackpressureStrategy.MISSING).onBackpressureBuffer(Flowable.bufferSize());
+        }
+        return events.toFlowable(strategy);
+    }
+}
@@ -16,6 +16,7 @@
 package rx.observables;
 
 import io.reactivex.rxjava3.core.Observable;
+import rx.schedulers.SwingScheduler;
 import rx.swing.sources.*;
 
 import javax.swing.*;
@@ -31,6 +32,9 @@ import java.util.Set;
 
 /**
  * Allows creating observables from various sources specific to Swing.
+ * <p>
+ * The key, focus, component and window observables can receive their events through a global
+ * AWT event listener instead of listeners added to each component, see {@link AwtEventDispatcher}.
  */
 public enum SwingObservable {
     ; // no instances
@@ -404,12 +408,13 @@ public enum SwingObservable {
     }
 
     /**
-     * Check if the current thread is the event dispatch thread.
+     * Check if the current thread is the event dispatch thread, or the thread replacing it in the headless
+     * thread mode of the {@link SwingScheduler}.
      *
      * @throws IllegalStateException if the current thread is not the event dispatch thread.
      */
     public static void assertEventDispatchThread() {
-        if (!SwingUtilities.isEventDispatchThread()) {
+        if (!SwingScheduler.isDispatchThread()) {
             throw new IllegalStateException("Need to run in the event dispatch thread, but was " + Thread.currentThread());
         }
     }
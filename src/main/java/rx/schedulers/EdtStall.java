@@ -0,0 +1,82 @@
+/**
+ * Copyright 2014 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package rx.schedulers;
+
+import io.reactivex.rxjava3.annotations.NonNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A report of the Swing UI thread being unresponsive for longer than the threshold of an {@link EdtWatchdog}.
+ */
+public final class EdtStall {
+    private final long durationNanos;
+    private final int sampleCount;
+    private final Map<List<StackTraceElement>, Integer> stacks;
+
+    EdtStall(long durationNanos, int sampleCount, Map<List<StackTraceElement>, Integer> stacks) {
+        this.durationNanos = durationNanos;
+        this.sampleCount = sampleCount;
+        this.stacks = Collections.unmodifiableMap(stacks);
+    }
+
+    /**
+     * @param unit The unit to return the duration in.
+     * @return how long a heartbeat posted to the Swing UI thread waited to run.
+     */
+    public long getDuration(@NonNull TimeUnit unit) {
+        return unit.convert(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return the number of stack samples taken while the Swing UI thread stalled.
+     */
+    public int getSampleCount() {
+        return sampleCount;
+    }
+
+    /**
+     * Returns the distinct stacks sampled during the stall, the top frame first, each mapped to the
+     * number of samples that found it. The most frequent stack comes first; it is the one to look at.
+     *
+     * @return the aggregated stacks of the Swing UI thread.
+     */
+    public @NonNull Map<List<StackTraceElement>, Integer> getStacks() {
+        return stacks;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("EdtStall of ")
+                .append(getDuration(TimeUnit.MILLISECONDS)).append(" ms, ")
+                .append(sampleCount).append(" samples");
+        for (Map.Entry<List<StackTraceElement>, Integer> stack : stacks.entrySet()) {
+            builder.append("\n  ").append(stack.getValue()).append(" x");
+            for (StackTraceElement element : stack.getKey()) {
+                builder.append("\n\tat ").append(element);
+            }
+        }
+        return builder.toString();
+    }
+
+    static List<StackTraceElement> key(StackTraceElement[] stack) {
+        return Collections.unmodifiableList(Arrays.asList(stack));
+    }
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright 2014 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package rx.schedulers;
+
+import io.reactivex.rxjava3.annotations.NonNull;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.ObservableEmitter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Watches the Swing UI thread for stalls.
+ * <p>
+ * A daemon thread posts a heartbeat to the Swing UI thread and waits for it to run. Once a heartbeat has
+ * waited longer than the threshold, the thread samples the stack of the Swing UI thread at a tenth of the
+ * threshold until the heartbeat runs, and then reports the stall with its duration and the aggregated
+ * samples. The stacks show which actions or subscribers kept the Swing UI thread busy.
+ * <p>
+ * Heartbeats are posted half a threshold apart, so a stall is detected within one and a half thresholds.
+ * The Swing UI thread is known to the watchdog once it ran the first heartbeat; a stall before that is
+ * reported without stacks.
+ */
+public final class EdtWatchdog {
+    private static final long MIN_SAMPLE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private EdtWatchdog() {
+    }
+
+    /**
+     * Returns an observable which watches the Swing UI thread while subscribed and emits a report for
+     * every stall longer than the threshold, on the thread of the watchdog. Each subscription starts its
+     * own watchdog thread; share the observable to report to several observers.
+     *
+     * @param threshold The shortest stall to report.
+     * @param unit The unit of the threshold.
+     * @return an observable emitting the stalls of the Swing UI thread.
+     * @throws IllegalArgumentException if the threshold is not positive.
+     */
+    public static @NonNull Observable<EdtStall> stalls(long threshold, @NonNull TimeUnit unit) {
+        final long thresholdNanos = unit.toNanos(threshold);
+        if (thresholdNanos <= 0) {
+            throw new IllegalArgumentException("The stall threshold must be positive, but was " + threshold + " " + unit);
+        }
+        return Observable.create(emitter -> {
+            final Thread thread = new Thread(() -> watch(emitter, thresholdNanos), "RxSwingEdtWatchdog");
+            thread.setDaemon(true);
+            emitter.setCancellable(thread::interrupt);
+            thread.start();
+        });
+    }
+
+    private static void watch(ObservableEmitter<EdtStall> emitter, long thresholdNanos) {
+        final long sampleIntervalNanos = Math.max(MIN_SAMPLE_INTERVAL_NANOS, thresholdNanos / 10);
+        Thread dispatchThread = null;
+        while (!emitter.isDisposed()) {
+            final Heartbeat heartbeat = new Heartbeat();
+            SwingDrainLoop.getInstance().post(heartbeat);
+            LockSupport.parkNanos(thresholdNanos);
+
+            final Map<List<StackTraceElement>, Integer> samples = new HashMap<>();
+            int sampleCount = 0;
+            while (heartbeat.ranAt == 0L && !emitter.isDisposed()) {
+                if (dispatchThread != null) {
+                    final StackTraceElement[] stack = dispatchThread.getStackTrace();
+                    if (stack.length > 0) {
+                        samples.merge(EdtStall.key(stack), 1, Integer::sum);
+                        sampleCount++;
+                    }
+                }
+                LockSupport.parkNanos(sampleIntervalNanos);
+            }
+            if (emitter.isDisposed()) {
+                return;
+            }
+            dispatchThread = heartbeat.thread;
+
+            final long waited = heartbeat.ranAt - heartbeat.postedAt;
+            if (waited > thresholdNanos) {
+                emitter.onNext(new EdtStall(waited, sampleCount, byFrequency(samples)));
+            }
+            LockSupport.parkNanos(thresholdNanos / 2);
+        }
+    }
+
+    private static Map<List<StackTraceElement>, Integer> byFrequency(Map<List<StackTraceElement>, Integer> samples) {
+        final List<Map.Entry<List<StackTraceElement>, Integer>> entries = new ArrayList<>(samples.entrySet());
+        entries.sort((left, right) -> Integer.compare(right.getValue(), left.getValue()));
+        final Map<List<StackTraceElement>, Integer> sorted = new LinkedHashMap<>();
+        for (Map.Entry<List<StackTraceElement>, Integer> entry : entries) {
+            sorted.put(entry.getKey(), entry.getValue());
+        }
+        return sorted;
+    }
+
+    private static final class Heartbeat implements Runnable {
+        private final long postedAt = System.nanoTime();
+        private volatile long ranAt;
+        private volatile Thread thread;
+
+        @Override
+        public void run() {
+            thread = Thread.currentThread();
+            ranAt = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,254 @@
+/**
+ * Copyright 2014 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package rx.schedulers;
+
+import io.reactivex.rxjava3.disposables.Disposable;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The queue through which all {@link SwingScheduler} work submitted off the EDT reaches the EDT.
+ * <p>
+ * Submissions are appended to a lock-free multi-producer single-consumer queue. Only the submission
+ * that finds the loop idle posts an event to the AWT {@link EventQueue}; that one event then drains
+ * everything queued in the meantime, so a busy producer costs one EDT event per batch rather than
+ * one per action.
+ * <p>
+ * Actions are queued in one of three priority lanes. A drain always takes the next action from the
+ * highest lane that has one, so work responding to input is never held up by cosmetic work queued
+ * before it.
+ * <p>
+ * With a {@link #setTimeBudget time budget}, a drain stops once the budget is used up and posts a
+ * fresh event for the rest of the queue. Input and paint events that arrived in the meantime are then
+ * processed first, which bounds how long a burst of scheduled work can hold up the EDT.
+ * <p>
+ * In a headless environment, setting the system property {@value #HEADLESS_THREAD_PROPERTY} to
+ * {@code true} replaces the EDT by a dedicated thread. It runs drains and {@link #post posted} actions
+ * from a FIFO queue of its own in place of the AWT event queue, and parks while that queue is empty. The
+ * scheduled work keeps the single-threaded semantics and the ordering of the EDT.
+ */
+/* package-private */final class SwingDrainLoop implements Runnable {
+    static final int INPUT = 0;
+    static final int NORMAL = 1;
+    static final int BACKGROUND = 2;
+    /**
+     * Not a lane of this loop: actions queued with it are handed to the {@link SwingIdleLoop}.
+     */
+    static final int IDLE = 3;
+    static final String HEADLESS_THREAD_PROPERTY = "rx3.swing.headless-thread";
+    private static final SwingDrainLoop INSTANCE = new SwingDrainLoop(
+            GraphicsEnvironment.isHeadless() && Boolean.getBoolean(HEADLESS_THREAD_PROPERTY));
+
+    private final AtomicInteger wip = new AtomicInteger();
+    private final SwingTaskQueue[] lanes = {new SwingTaskQueue(), new SwingTaskQueue(), new SwingTaskQueue()};
+    private final Thread thread; // null while draining on the EDT
+    private final Queue<Runnable> events; // stands in for the AWT event queue on the dedicated thread
+    private SwingTaskQueue polled; // the lane of the action last polled, confined to the drain thread
+    private volatile long timeBudgetNanos;
+    private volatile boolean stopped; // only ever set for a dedicated thread
+
+    /* package for unit test */SwingDrainLoop(boolean dedicatedThread) {
+        if (dedicatedThread) {
+            events = new ConcurrentLinkedQueue<>();
+            thread = new Thread(this::runDedicated, "RxSwingHeadlessThread");
+            thread.setDaemon(true);
+            thread.start();
+        } else {
+            events = null;
+            thread = null;
+        }
+    }
+
+    /**
+     * Stops the dedicated thread once it has finished the event it is running, and waits for it to end.
+     * Anything still queued is left unrun. Does nothing while draining on the EDT.
+     */
+    /* package for unit test */void shutdown() throws InterruptedException {
+        if (thread == null) {
+            return;
+        }
+        stopped = true;
+        LockSupport.unpark(thread);
+        thread.join();
+    }
+
+    static SwingDrainLoop getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return whether the calling thread is the one running the scheduled work, the EDT unless in headless thread mode.
+     */
+    static boolean isDispatchThread() {
+        return INSTANCE.isDrainThread();
+    }
+
+    boolean isDrainThread() {
+        return thread == null ? SwingUtilities.isEventDispatchThread() : Thread.currentThread() == thread;
+    }
+
+    /**
+     * Runs the action on the drain thread after the events already pending there, like
+     * {@link EventQueue#invokeLater}. Unlike {@link #enqueue}, it keeps the action out of the lanes, so it
+     * is ordered against drains as a whole rather than by priority against the actions they run.
+     */
+    void post(Runnable action) {
+        if (thread == null) {
+            EventQueue.invokeLater(action);
+        } else {
+            events.offer(action);
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * @return whether events or actions other than the running one are waiting for the drain thread.
+     * May only be called on the drain thread.
+     */
+    boolean hasPendingEvents() {
+        if (thread == null) {
+            return Toolkit.getDefaultToolkit().getSystemEventQueue().peekEvent() != null;
+        }
+        return !events.isEmpty();
+    }
+
+    /**
+     * @param timeBudgetNanos The longest time a single drain may keep running actions, or 0 for no limit.
+     */
+    void setTimeBudget(long timeBudgetNanos) {
+        this.timeBudgetNanos = timeBudgetNanos;
+    }
+
+    long getTimeBudget() {
+        return timeBudgetNanos;
+    }
+
+    /**
+     * Queues the action for the EDT in the given lane. It is skipped if its owner, when given, has been
+     * disposed by then.
+     */
+    void enqueue(int lane, Disposable owner, Runnable action) {
+        if (lane == IDLE) {
+            SwingIdleLoop.getInstance().enqueue(owner, action);
+            return;
+        }
+        lanes[lane].offer(owner, action);
+        signal();
+    }
+
+    /**
+     * Queues an action whose submission has been recorded already.
+     *
+     * @see SwingTaskQueue#offer(Disposable, Runnable, Thread, long)
+     */
+    void enqueue(int lane, Disposable owner, Runnable action, Thread submitter, long delayNanos) {
+        if (lane == IDLE) {
+            SwingIdleLoop.getInstance().enqueue(owner, action, submitter, delayNanos);
+            return;
+        }
+        lanes[lane].offer(owner, action, submitter, delayNanos);
+        signal();
+    }
+
+    private void signal() {
+        if (wip.getAndIncrement() == 0) {
+            schedule();
+        }
+    }
+
+    private void schedule() {
+        post(this);
+    }
+
+    /**
+     * Drops the actions of the owner still queued in any lane or in the {@link SwingIdleLoop}, so
+     * that whatever they capture can be collected right away. Off the EDT, and when the owner has
+     * nothing queued, it does nothing: the drain skips the actions of a disposed owner anyway.
+     */
+    void purge(SwingTaskQueue.Owner owner) {
+        if (!owner.hasQueued() || !isDispatchThread()) {
+            return;
+        }
+        for (SwingTaskQueue lane : lanes) {
+            lane.purge(owner);
+        }
+        SwingIdleLoop.getInstance().purge(owner);
+    }
+
+    @Override
+    public void run() {
+        final long budget = timeBudgetNanos;
+        final long deadline = budget > 0 ? System.nanoTime() + budget : 0L;
+        int missed = 1;
+        for (;;) {
+            for (;;) {
+                final Runnable action = poll();
+                if (action == null) {
+                    break;
+                }
+                try {
+                    polled.execute(action);
+                } catch (Throwable ex) {
+                    // leave wip untouched and let a fresh event carry on with the rest of the queue
+                    schedule();
+                    throw ex;
+                }
+                if (budget > 0 && System.nanoTime() - deadline >= 0) {
+                    // out of time: yield to pending input and paint events, wip stays taken for the next drain
+                    schedule();
+                    return;
+                }
+            }
+
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+
+    private void runDedicated() {
+        while (!stopped) {
+            final Runnable event = events.poll();
+            if (event == null) {
+                LockSupport.park(this);
+                continue;
+            }
+            try {
+                event.run();
+            } catch (Throwable ex) {
+                // like the EDT, the thread survives failing actions
+                Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), ex);
+            }
+        }
+    }
+
+    private Runnable poll() {
+        for (SwingTaskQueue lane : lanes) {
+            final Runnable action = lane.poll();
+            if (action != null) {
+                polled = lane;
+                return action;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,166 @@
+/**
+ * Copyright 2014 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package rx.schedulers;
+
+import io.reactivex.rxjava3.annotations.NonNull;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.disposables.Disposable;
+import rx.schedulers.SwingTimingWheel.TimedTask;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes work on the Swing UI thread, paced by a fixed frame tick.
+ * <p>
+ * Submitted actions are buffered and all actions submitted during one frame run together in a single
+ * event on the Swing UI thread at the next frame boundary, even when submitted from the Swing UI thread
+ * itself. Views receiving many model updates per frame thereby lay out and repaint at most once per
+ * frame instead of once per update.
+ * <p>
+ * Actions scheduled with a delay run in the first frame after their delay elapsed. Frame boundaries are
+ * aligned to a common clock, so schedulers with the same frame rate tick together. No timer runs while
+ * nothing is buffered.
+ */
+public final class SwingFrameScheduler extends Scheduler {
+    private static final SwingFrameScheduler INSTANCE = new SwingFrameScheduler(60);
+
+    private final long framePeriodNanos;
+    private final AtomicInteger wip = new AtomicInteger();
+    private final SwingTaskQueue queue = new SwingTaskQueue();
+    private final FrameTask frameTask = new FrameTask();
+
+    private SwingFrameScheduler(int framesPerSecond) {
+        if (framesPerSecond <= 0 || framesPerSecond > 1000) {
+            throw new IllegalArgumentException("The frame rate must be between 1 and 1000 frames per second, but was " + framesPerSecond);
+        }
+        this.framePeriodNanos = TimeUnit.SECONDS.toNanos(1) / framesPerSecond;
+    }
+
+    /**
+     * @return the frame scheduler ticking at 60 frames per second.
+     */
+    public static @NonNull Scheduler getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Creates a frame scheduler with its own buffer, ticking at the given frame rate.
+     *
+     * @param framesPerSecond The number of frames per second, between 1 and 1000.
+     * @return a new frame scheduler.
+     * @throws IllegalArgumentException if the frame rate is out of range.
+     */
+    public static @NonNull Scheduler create(int framesPerSecond) {
+        return new SwingFrameScheduler(framesPerSecond);
+    }
+
+    @Override
+    public @NonNull Worker createWorker() {
+        return new FrameWorker(this);
+    }
+
+    private void enqueue(Disposable owner, Runnable action) {
+        queue.offer(owner, action);
+        if (wip.getAndIncrement() == 0) {
+            final long now = System.nanoTime();
+            SwingTimingWheel.getInstance().schedule(frameTask, framePeriodNanos - Math.floorMod(now, framePeriodNanos));
+        }
+    }
+
+    /**
+     * Runs every action that was buffered when the frame started. Actions submitted while the frame runs
+     * are left for the next frame, so self-rescheduling work cannot stretch a frame indefinitely. So is an
+     * action whose submission is still in progress, which never holds up the EDT.
+     */
+    private final class FrameTask extends TimedTask {
+        private FrameTask() {
+            super(SwingDrainLoop.NORMAL);
+        }
+
+        @Override
+        public void run() {
+            final int missed = wip.get();
+            int done = 0;
+            try {
+                while (done < missed) {
+                    final Runnable action = queue.poll();
+                    if (action == null) {
+                        // counted by wip, but its offer has not been linked yet: rather than waiting for the
+                        // producer on the EDT, leave it and the rest of the frame to the next frame
+                        break;
+                    }
+                    done++;
+                    queue.execute(action);
+                }
+            } finally {
+                if (wip.addAndGet(-done) != 0) {
+                    SwingTimingWheel.getInstance().schedule(this, framePeriodNanos - Math.floorMod(System.nanoTime(), framePeriodNanos));
+                }
+            }
+        }
+    }
+
+    private static final class FrameWorker extends Worker {
+
+        private final SwingTaskQueue.Owner innerSubscription = new SwingTaskQueue.Owner();
+        private final SwingFrameScheduler scheduler;
+        private final Worker timer = SwingScheduler.getInstance().createWorker();
+
+        private FrameWorker(SwingFrameScheduler scheduler) {
+            this.scheduler = scheduler;
+            innerSubscription.add(timer);
+        }
+
+        @Override
+        public @NonNull Disposable schedule(@NonNull Runnable action) {
+            if (!innerSubscription.isDisposed()) {
+                scheduler.enqueue(innerSubscription, action);
+            }
+            return innerSubscription;
+        }
+
+        @Override
+        public @NonNull Disposable schedule(@NonNull Runnable action, long delayTime, @NonNull TimeUnit unit) {
+            if (delayTime <= 0) {
+                return schedule(action);
+            }
+            return timer.schedule(() -> scheduler.enqueue(innerSubscription, action), delayTime, unit);
+        }
+
+        @Override
+        public @NonNull Disposable schedulePeriodically(@NonNull Runnable action, long initialDelay, long period, @NonNull TimeUnit unit) {
+            final Runnable tick = () -> scheduler.enqueue(innerSubscription, action);
+            return timer.schedulePeriodically(tick, initialDelay, period, unit);
+        }
+
+        @Override
+        public void dispose() {
+            if (!innerSubscription.isDisposed()) {
+                innerSubscription.dispose();
+                if (SwingDrainLoop.isDispatchThread()) {
+                    // off the EDT, the next frame drops them at the latest
+                    scheduler.queue.purge(innerSubscription);
+                }
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return innerSubscription.isDisposed();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/**
+ * Copyright 2014 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package rx.schedulers;
+
+import io.reactivex.rxjava3.disposables.Disposable;
+import rx.schedulers.SwingTimingWheel.TimedTask;
+
+import java.awt.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The queue of {@link SwingScheduler#idle() idle} work, drained on the EDT only while the AWT
+ * {@link EventQueue} holds no other events. In headless thread mode, idle means that the
+ * {@link SwingDrainLoop} has nothing else queued.
+ * <p>
+ * A drain runs queued actions for at most one short chunk and stops early as soon as another event
+ * is posted. While events keep arriving, the next attempt is delayed on the {@link SwingTimingWheel},
+ * doubling the delay each time up to a few frames, so idle work never competes with paint or input.
+ */
+/* package-private */final class SwingIdleLoop implements Runnable {
+    private static final long CHUNK_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final long MIN_BACK_OFF_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long MAX_BACK_OFF_NANOS = TimeUnit.MILLISECONDS.toNanos(64);
+    private static final SwingIdleLoop INSTANCE = new SwingIdleLoop();
+
+    private final AtomicInteger wip = new AtomicInteger();
+    private final SwingTaskQueue queue = new SwingTaskQueue();
+    private final Retry retry = new Retry();
+    private long backOffNanos = MIN_BACK_OFF_NANOS; // confined to the EDT
+
+    private SwingIdleLoop() {
+    }
+
+    static SwingIdleLoop getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Queues the action until the EDT is idle. It is skipped if its owner, when given, has been disposed by then.
+     */
+    void enqueue(Disposable owner, Runnable action) {
+        queue.offer(owner, action);
+        signal();
+    }
+
+    /**
+     * Queues an action whose submission has been recorded already.
+     *
+     * @see SwingTaskQueue#offer(Disposable, Runnable, Thread, long)
+     */
+    void enqueue(Disposable owner, Runnable action, Thread submitter, long delayNanos) {
+        queue.offer(owner, action, submitter, delayNanos);
+        signal();
+    }
+
+    private void signal() {
+        if (wip.getAndIncrement() == 0) {
+            SwingDrainLoop.getInstance().post(this);
+        }
+    }
+
+    /**
+     * Drops the queued actions of the owner. Must be called on the EDT.
+     */
+    void purge(SwingTaskQueue.Owner owner) {
+        queue.purge(owner);
+    }
+
+    @Override
+    public void run() {
+        final SwingDrainLoop loop = SwingDrainLoop.getInstance();
+        if (loop.hasPendingEvents()) {
+            // not idle: try again later, wip stays taken until then
+            SwingTimingWheel.getInstance().schedule(retry, backOffNanos);
+            backOffNanos = Math.min(backOffNanos * 2, MAX_BACK_OFF_NANOS);
+            return;
+        }
+        backOffNanos = MIN_BACK_OFF_NANOS;
+
+        final long deadline = System.nanoTime() + CHUNK_NANOS;
+        int missed = 1;
+        for (;;) {
+            for (;;) {
+                final Runnable action = queue.poll();
+                if (action == null) {
+                    break;
+                }
+                try {
+                    queue.execute(action);
+                } catch (Throwable ex) {
+                    loop.post(this);
+                    throw ex;
+                }
+                if (System.nanoTime() - deadline >= 0 || loop.hasPendingEvents()) {
+                    // the pending events go first, this event checks again behind them
+                    loop.post(this);
+                    return;
+                }
+            }
+
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+
+    private final class Retry extends TimedTask {
+        private Retry() {
+            super(SwingDrainLoop.BACKGROUND);
+        }
+
+        @Override
+        public void run() {
+            SwingIdleLoop.this.run();
+        }
+    }
+}
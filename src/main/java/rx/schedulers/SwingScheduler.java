@@ -17,14 +17,19 @@ package rx.schedulers;
 
 import io.reactivex.rxjava3.annotations.NonNull;
 import io.reactivex.rxjava3.core.Scheduler;
-import io.reactivex.rxjava3.disposables.CompositeDisposable;
 import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.disposables.DisposableContainer;
+import io.reactivex.rxjava3.plugins.RxJavaPlugins;
 
-import javax.swing.*;
-import java.awt.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
+import rx.schedulers.SwingTimingWheel.TimedTask;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /**
  * Executes work on the Swing UI thread.
@@ -34,92 +39,611 @@ import java.util.concurrent.TimeUnit;
  * provided, the action will run immediately. Otherwise, if the calling
  * thread is NOT the Swing UI thread, the action will be deferred until
  * all pending UI events have been processed.
+ * <p>
+ * Deferred actions are queued in one of three priority lanes, served by the
+ * {@link #input()}, {@link #normal()} and {@link #background()} schedulers. All
+ * lanes are drained by the same loop on the Swing UI thread, which always empties
+ * higher lanes before lower ones. Actions of the {@link #background()} scheduler
+ * are always deferred, even when scheduled on the Swing UI thread.
+ * <p>
+ * Actions of the {@link #idle()} scheduler are deferred further, until the
+ * event queue of the Swing UI thread holds no other events.
+ * <p>
+ * The {@link #getTrampolineInstance() trampolining} variant only differs in how
+ * actions scheduled from within a running action are treated: instead of running
+ * nested inside the current action, they are queued and run one after another
+ * once it returns, keeping the stack of the Swing UI thread flat.
  */
 public final class SwingScheduler extends Scheduler {
+    private static final SwingScheduler INPUT = new SwingScheduler(SwingDrainLoop.INPUT, false);
     private static final SwingScheduler INSTANCE = new SwingScheduler();
+    private static final SwingScheduler BACKGROUND = new SwingScheduler(SwingDrainLoop.BACKGROUND, false);
+    private static final SwingScheduler IDLE = new SwingScheduler(SwingDrainLoop.IDLE, false);
+    private static final SwingScheduler TRAMPOLINE_INSTANCE = new SwingScheduler(true);
+
+    private final int lane;
+    private final boolean trampoline;
+    private final ConcurrentHashMap<Object, CoalescedAction> coalesced = new ConcurrentHashMap<>();
+    private final ArrayDeque<Runnable> trampolineQueue = new ArrayDeque<>(); // confined to the EDT
+    private boolean trampolineActive; // confined to the EDT
 
     /* package for unit test */SwingScheduler() {
+        this(false);
+    }
+
+    /* package for unit test */SwingScheduler(boolean trampoline) {
+        this(SwingDrainLoop.NORMAL, trampoline);
+    }
+
+    /* package for unit test */SwingScheduler(int lane, boolean trampoline) {
+        this.lane = lane;
+        this.trampoline = trampoline;
     }
 
     public static @NonNull Scheduler getInstance() {
         return INSTANCE;
     }
 
-    private static void assertThatTheDelayIsValidForTheSwingTimer(long delay) throws IllegalArgumentException {
+    /**
+     * Returns the scheduler for work responding to user input. Its deferred actions run before
+     * those of any other Swing scheduler.
+     *
+     * @return the input priority Swing scheduler.
+     */
+    public static @NonNull SwingScheduler input() {
+        return INPUT;
+    }
+
+    /**
+     * Returns the scheduler for regular work. This is the scheduler returned by {@link #getInstance()}.
+     *
+     * @return the normal priority Swing scheduler.
+     */
+    public static @NonNull SwingScheduler normal() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the scheduler for work nobody is waiting for, like cosmetic refreshes. Its actions are
+     * always deferred and only run once the input and normal lanes are empty.
+     *
+     * @return the background priority Swing scheduler.
+     */
+    public static @NonNull SwingScheduler background() {
+        return BACKGROUND;
+    }
+
+    /**
+     * Returns the scheduler for work that should only use time the Swing UI thread would otherwise
+     * spend waiting, like prefetching or rebuilding an index. Its actions are always deferred and run
+     * in short chunks while no other event is pending. While input keeps arriving, they are held back
+     * with an increasing delay.
+     *
+     * @return the idle time Swing scheduler.
+     */
+    public static @NonNull SwingScheduler idle() {
+        return IDLE;
+    }
+
+    /**
+     * Returns a scheduler executing work on the Swing UI thread which trampolines re-entrant scheduling.
+     * <p>
+     * Actions scheduled without delay while an action of this scheduler is running on the Swing UI
+     * thread are queued and drained in a loop after it returns, rather than run recursively. Use it
+     * for recursive scheduling from operators like {@code repeat} or {@code concatMap}, or from recursive
+     * loaders, which would otherwise grow the stack of the Swing UI thread without bound.
+     *
+     * @return the trampolining Swing scheduler.
+     */
+    public static @NonNull Scheduler getTrampolineInstance() {
+        return TRAMPOLINE_INSTANCE;
+    }
+
+    /**
+     * Tells whether the calling thread is the one running the work of the Swing schedulers: the Swing UI
+     * thread, or the dedicated thread replacing it in headless mode. Work that has to run there can then
+     * be done inline instead of being scheduled.
+     *
+     * @return whether the calling thread runs the work of the Swing schedulers.
+     */
+    public static boolean isDispatchThread() {
+        return SwingDrainLoop.isDispatchThread();
+    }
+
+    private static void assertThatTheDelayIsValid(long delay) throws IllegalArgumentException {
         if (delay < 0 || delay > Integer.MAX_VALUE) {
-            throw new IllegalArgumentException(String.format("The swing timer only accepts non-negative delays up to %d milliseconds.", Integer.MAX_VALUE));
+            throw new IllegalArgumentException(String.format("The swing scheduler only accepts non-negative delays up to %d milliseconds.", Integer.MAX_VALUE));
         }
     }
 
+    /**
+     * Caps how long queued actions may run on the Swing UI thread in one go.
+     * <p>
+     * Actions scheduled from other threads are drained in batches. Once a batch has run for longer
+     * than the budget, the remaining actions are posted back to the AWT event queue, so that pending
+     * input and paint events are handled before they continue. A single action is never interrupted.
+     * The budget applies to all Swing schedulers and is disabled by default.
+     *
+     * @param time The time budget per batch, or 0 to drain every batch completely.
+     * @param unit The unit of the time budget.
+     * @throws IllegalArgumentException if the time budget is negative.
+     */
+    public static void setTimeBudget(long time, @NonNull TimeUnit unit) {
+        if (time < 0) {
+            throw new IllegalArgumentException("The time budget must not be negative, but was " + time + " " + unit);
+        }
+        SwingDrainLoop.getInstance().setTimeBudget(unit.toNanos(time));
+    }
+
+    /**
+     * @param unit The unit to return the time budget in.
+     * @return the time budget per batch of queued actions, or 0 if there is none.
+     * @see #setTimeBudget(long, TimeUnit)
+     */
+    public static long getTimeBudget(@NonNull TimeUnit unit) {
+        return unit.convert(SwingDrainLoop.getInstance().getTimeBudget(), TimeUnit.NANOSECONDS);
+    }
+
     @Override
-    public Worker createWorker() {
-        return new SwingWorker();
+    public @NonNull SwingWorker createWorker() {
+        return new SwingWorker(this);
     }
 
-    private static class SwingWorker extends Worker {
+    /**
+     * Schedules the action to run on the Swing UI thread, replacing the action still pending for the
+     * same key, if any.
+     * <p>
+     * However often an action is scheduled for a key between two turns of the Swing UI thread, only
+     * the last one runs, once. The pending action always runs deferred, in the order in which its key
+     * was first scheduled. An action scheduled once the pending one started running is scheduled anew.
+     * Use it for updates where only the latest value matters, like the status of a table row.
+     *
+     * @param key The key identifying the updates that replace each other, compared with {@code equals}.
+     * @param action The action to run.
+     * @return a disposable cancelling the action pending for the key, as long as it has not started yet.
+     */
+    public @NonNull Disposable scheduleCoalesced(@NonNull Object key, @NonNull Runnable action) {
+        Objects.requireNonNull(key, "key is null");
+        Objects.requireNonNull(action, "action is null");
+        for (;;) {
+            final CoalescedAction pending = coalesced.get(key);
+            if (pending != null && pending.replace(action)) {
+                return pending;
+            }
+            final CoalescedAction created = new CoalescedAction(key, action);
+            if (pending == null ? coalesced.putIfAbsent(key, created) == null : coalesced.replace(key, pending, created)) {
+                SwingDrainLoop.getInstance().enqueue(lane, null, created);
+                return created;
+            }
+        }
+    }
 
-        private final CompositeDisposable innerSubscription = new CompositeDisposable();
+    /**
+     * The action pending for a key of {@link #scheduleCoalesced}. It keeps being replaced until it is
+     * taken to run or disposed, after which the key maps to a new one.
+     */
+    private final class CoalescedAction implements Runnable, Disposable {
+        private final AtomicReference<Runnable> action;
+        private final Object key;
 
-        @Override
-        public Disposable schedule(final Runnable action, long delayTime, TimeUnit unit) {
-            long delay = Math.max(0, unit.toMillis(delayTime));
-            assertThatTheDelayIsValidForTheSwingTimer(delay);
+        private CoalescedAction(Object key, Runnable action) {
+            this.key = key;
+            this.action = new AtomicReference<>(action);
+        }
 
-            if(delayTime == 0){
-                return scheduleNow(action);
+        private boolean replace(Runnable next) {
+            for (;;) {
+                final Runnable current = action.get();
+                if (current == null) {
+                    return false;
+                }
+                if (action.compareAndSet(current, next)) {
+                    return true;
+                }
             }
+        }
+
+        @Override
+        public void run() {
+            // unmapped first: a replacement racing with us either lands before we take the action or maps a new one
+            coalesced.remove(key, this);
+            final Runnable current = action.getAndSet(null);
+            if (current != null) {
+                current.run();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            action.set(null);
+            coalesced.remove(key, this);
+        }
 
-            class ExecuteOnceAction implements ActionListener {
-                private Timer timer;
+        @Override
+        public boolean isDisposed() {
+            return action.get() == null;
+        }
+    }
 
-                private void setTimer(Timer timer) {
-                    this.timer = timer;
+    private void runOnEventDispatchThread(Disposable owner, Runnable action) {
+        if (!trampoline) {
+            if (!owner.isDisposed()) {
+                SwingSchedulerMetrics.execute(action);
+            }
+            return;
+        }
+
+        if (trampolineActive) {
+            trampolineQueue.offer(() -> {
+                if (!owner.isDisposed()) {
+                    SwingSchedulerMetrics.execute(action);
                 }
+            });
+            return;
+        }
 
-                @Override
-                public void actionPerformed(ActionEvent e) {
-                    timer.stop();
-                    if (innerSubscription.isDisposed()) {
-                        return;
-                    }
+        trampolineActive = true;
+        try {
+            if (!owner.isDisposed()) {
+                SwingSchedulerMetrics.execute(action);
+            }
+            Runnable next;
+            while ((next = trampolineQueue.poll()) != null) {
+                next.run();
+            }
+        } catch (Throwable ex) {
+            // the actions still queued must not wait for the next trampolined action to come along
+            Runnable next;
+            while ((next = trampolineQueue.poll()) != null) {
+                SwingDrainLoop.getInstance().enqueue(lane, null, next);
+            }
+            throw ex;
+        } finally {
+            trampolineActive = false;
+        }
+    }
+
+    /**
+     * Runs the action inline when called on the Swing UI thread, queues it otherwise. Skipped once the owner is disposed.
+     */
+    private void scheduleNow(Disposable owner, Runnable action) {
+        final SwingDrainLoop loop = SwingDrainLoop.getInstance();
+        if (lane < SwingDrainLoop.BACKGROUND && SwingDrainLoop.isDispatchThread()) {
+            runOnEventDispatchThread(owner, action);
+        } else if (trampoline) {
+            loop.enqueue(lane, owner, () -> runOnEventDispatchThread(owner, action));
+        } else {
+            loop.enqueue(lane, owner, action);
+        }
+    }
+
+    /**
+     * Schedules the action without creating a worker, as done for every {@code subscribeOn} and
+     * {@code unsubscribeOn}. The action is handled like that of a worker otherwise.
+     */
+    @Override
+    public @NonNull Disposable scheduleDirect(@NonNull Runnable run, long delay, @NonNull TimeUnit unit) {
+        final long delayNanos = Math.max(0, unit.toNanos(delay));
+        assertThatTheDelayIsValid(TimeUnit.NANOSECONDS.toMillis(delayNanos));
+        final Runnable action = RxJavaPlugins.onSchedule(run);
+
+        if (delayNanos == 0) {
+            final DirectAction direct = new DirectAction(action);
+            scheduleNow(direct, direct);
+            return direct;
+        }
+        return new TimedAction(lane, action, TimedAction.ONE_SHOT, null, 0L).start(delayNanos);
+    }
+
+    @Override
+    public @NonNull Disposable schedulePeriodicallyDirect(@NonNull Runnable run, long initialDelay, long period, @NonNull TimeUnit unit) {
+        return schedulePeriodic(RxJavaPlugins.onSchedule(run), initialDelay, period, unit, lane, null);
+    }
+
+    /**
+     * Schedules the actions to run one after another in a single turn of the Swing UI thread, without
+     * creating a worker.
+     * <p>
+     * Off the Swing UI thread, the whole batch takes a single entry in the queue, however many actions it
+     * holds. Actions scheduled before it run before it, those scheduled after it run after it.
+     * If an action throws, the remaining ones are scheduled again.
+     *
+     * @param actions The actions to run, in iteration order. The collection is copied.
+     * @return a disposable cancelling the actions that have not run yet.
+     */
+    public @NonNull Disposable scheduleAllDirect(@NonNull Collection<? extends Runnable> actions) {
+        return scheduleAll(null, actions);
+    }
+
+    private Disposable scheduleAll(Disposable owner, Collection<? extends Runnable> actions) {
+        final Runnable[] batch = actions.toArray(new Runnable[0]);
+        if (batch.length == 0) {
+            return Disposable.disposed();
+        }
+        for (int i = 0; i < batch.length; i++) {
+            batch[i] = RxJavaPlugins.onSchedule(Objects.requireNonNull(batch[i], "actions contains null"));
+        }
+        final BatchAction action = new BatchAction(lane, owner, batch);
+        // queued under the worker, if any, so that disposing the worker purges it
+        scheduleNow(owner != null ? owner : action, action);
+        return action;
+    }
+
+    /**
+     * The actions of a {@link #scheduleAllDirect bulk submission}. Each action is released once it ran or
+     * the batch got disposed.
+     */
+    private static final class BatchAction implements Runnable, Disposable {
+        private final int lane;
+        private final Disposable owner;
+        private volatile Runnable[] actions;
+        private int index; // confined to the Swing UI thread
+
+        private BatchAction(int lane, Disposable owner, Runnable[] actions) {
+            this.lane = lane;
+            this.owner = owner;
+            this.actions = actions;
+        }
+
+        @Override
+        public void run() {
+            for (;;) {
+                final Runnable[] current = actions;
+                if (current == null) {
+                    return;
+                }
+                if (owner != null && owner.isDisposed()) {
+                    // cancelled along with the worker, release what has not run yet
+                    actions = null;
+                    return;
+                }
+                final Runnable action = current[index];
+                current[index] = null;
+                if (++index == current.length) {
+                    actions = null;
+                }
+                try {
                     action.run();
+                } catch (Throwable ex) {
+                    if (!isDisposed()) {
+                        SwingDrainLoop.getInstance().enqueue(lane, this, this);
+                    }
+                    throw ex;
                 }
             }
+        }
 
-            ExecuteOnceAction executeOnce = new ExecuteOnceAction();
-            final Timer timer = new Timer((int) delay, executeOnce);
-            executeOnce.setTimer(timer);
-            timer.start();
+        @Override
+        public void dispose() {
+            actions = null;
+        }
 
-            return innerSubscription;
+        @Override
+        public boolean isDisposed() {
+            return actions == null;
+        }
+    }
+
+    /**
+     * An action scheduled directly on the scheduler, which serves as its own disposable.
+     */
+    private static final class DirectAction implements Runnable, Disposable {
+        private final AtomicReference<Runnable> action;
+
+        private DirectAction(Runnable action) {
+            this.action = new AtomicReference<>(action);
         }
 
         @Override
-        public Disposable schedule(final Runnable action) {
-            return scheduleNow(action);
+        public void run() {
+            final Runnable current = action.getAndSet(null);
+            if (current != null) {
+                current.run();
+            }
         }
 
-        private Disposable scheduleNow(final Runnable action) {
-            final Runnable runnable = () -> {
-                if (innerSubscription.isDisposed()) {
-                    return;
+        @Override
+        public void dispose() {
+            action.set(null);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return action.get() == null;
+        }
+    }
+
+    /**
+     * Schedules the action to run after the initial delay and then once per period. A period of 0 or
+     * less runs it only once, rather than over and over without pause.
+     */
+    private static Disposable schedulePeriodic(Runnable action, long initialDelay, long period, TimeUnit unit, int lane, DisposableContainer parent) {
+        final long initialDelayNanos = Math.max(0, unit.toNanos(initialDelay));
+        assertThatTheDelayIsValid(TimeUnit.NANOSECONDS.toMillis(initialDelayNanos));
+        final long periodNanos = unit.toNanos(period);
+        if (periodNanos <= 0) {
+            return new TimedAction(lane, action, TimedAction.ONE_SHOT, parent, 0L).start(initialDelayNanos);
+        }
+        assertThatTheDelayIsValid(TimeUnit.NANOSECONDS.toMillis(periodNanos));
+
+        final TimedAction periodic = new TimedAction(lane, action, periodNanos, parent, System.nanoTime() + initialDelayNanos);
+        return periodic.start(initialDelayNanos);
+    }
+
+    /**
+     * A delayed or periodic action waiting in the {@link SwingTimingWheel}.
+     * <p>
+     * Disposing it removes it from the wheel right away, so a replaced debounce or timeout
+     * neither lingers until its deadline nor keeps its action reachable.
+     * <p>
+     * A periodic action is re-inserted after each run with the time left until its next
+     * nominal tick, so the period does not drift with the time spent waiting on the EDT.
+     * If the EDT falls behind by more than one period, missed ticks are skipped rather
+     * than executed in a burst.
+     */
+    private static final class TimedAction extends TimedTask implements Disposable {
+        private static final long ONE_SHOT = -1L;
+        private static final AtomicReferenceFieldUpdater<TimedAction, Runnable> ACTION =
+                AtomicReferenceFieldUpdater.newUpdater(TimedAction.class, Runnable.class, "action");
+
+        private volatile Runnable action;
+        private final long periodNanos;
+        private final DisposableContainer parent;
+        private long nextRun;
+        private Thread origin;
+
+        private TimedAction(int lane, Runnable action, long periodNanos, DisposableContainer parent, long firstRun) {
+            super(lane);
+            this.action = action;
+            this.periodNanos = periodNanos;
+            this.parent = parent;
+            this.nextRun = firstRun;
+        }
+
+        private Disposable start(long delayNanos) {
+            if (parent != null && !parent.add(this)) {
+                // the worker is disposed already, release the action right away
+                action = null;
+                return Disposable.disposed();
+            }
+            if (SwingSchedulerEvents.isEnabled()) {
+                origin = Thread.currentThread();
+                SwingSchedulerEvents.submitted(delayNanos);
+            }
+            arm(delayNanos);
+            return this;
+        }
+
+        private void arm(long delayNanos) {
+            if (origin != null) {
+                // a periodic re-arm is attributed to the thread that scheduled the action
+                submitter = origin;
+                this.delayNanos = delayNanos;
+            }
+            final SwingTimingWheel wheel = SwingTimingWheel.getInstance();
+            wheel.schedule(this, delayNanos);
+            if (isDisposed()) {
+                wheel.cancel(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            if (periodNanos == ONE_SHOT) {
+                final Runnable current = ACTION.getAndSet(this, null);
+                if (current != null) {
+                    if (parent != null) {
+                        parent.delete(this);
+                    }
+                    current.run();
                 }
-                action.run();
-            };
+                return;
+            }
 
-            if (SwingUtilities.isEventDispatchThread()) {
-                runnable.run();
-            } else {
-                EventQueue.invokeLater(runnable);
+            final Runnable current = action;
+            if (current == null) {
+                return;
+            }
+            try {
+                current.run();
+            } catch (Throwable ex) {
+                dispose();
+                throw ex;
+            }
+            if (isDisposed()) {
+                return;
             }
 
-            return innerSubscription;
+            final long now = System.nanoTime();
+            nextRun += periodNanos;
+            if (now - nextRun >= 0) {
+                // skip the ticks missed while the EDT was busy and keep to the nominal schedule
+                nextRun += ((now - nextRun) / periodNanos + 1) * periodNanos;
+            }
+            arm(Math.max(0, nextRun - now));
         }
 
         @Override
         public void dispose() {
-            innerSubscription.dispose();
+            if (ACTION.getAndSet(this, null) != null) {
+                SwingTimingWheel.getInstance().cancel(this);
+                if (parent != null) {
+                    parent.delete(this);
+                }
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return action == null;
+        }
+    }
+
+    /**
+     * A worker of a {@link SwingScheduler}. Disposing it cancels all of its pending actions.
+     */
+    public static final class SwingWorker extends Worker {
+
+        private final SwingTaskQueue.Owner innerSubscription = new SwingTaskQueue.Owner();
+        private final SwingScheduler scheduler;
+
+        private SwingWorker(SwingScheduler scheduler) {
+            this.scheduler = scheduler;
+        }
+
+        /**
+         * Schedules the actions to run one after another in a single turn of the Swing UI thread, like
+         * {@link SwingScheduler#scheduleAllDirect}. The actions are cancelled along with the worker.
+         *
+         * @param actions The actions to run, in iteration order. The collection is copied.
+         * @return a disposable cancelling the actions that have not run yet.
+         */
+        public @NonNull Disposable scheduleAll(@NonNull Collection<? extends Runnable> actions) {
+            if (innerSubscription.isDisposed()) {
+                return Disposable.disposed();
+            }
+            return scheduler.scheduleAll(innerSubscription, actions);
+        }
+
+        @Override
+        public Disposable schedule(final Runnable action, long delayTime, TimeUnit unit) {
+            final long delayNanos = Math.max(0, unit.toNanos(delayTime));
+            assertThatTheDelayIsValid(TimeUnit.NANOSECONDS.toMillis(delayNanos));
+
+            if(delayTime == 0){
+                return scheduleNow(action);
+            }
+
+            final TimedAction delayed = new TimedAction(scheduler.lane, action, TimedAction.ONE_SHOT, innerSubscription, 0L);
+            return delayed.start(delayNanos);
+        }
+
+        @Override
+        public @NonNull Disposable schedulePeriodically(@NonNull Runnable action, long initialDelay, long period, @NonNull TimeUnit unit) {
+            return schedulePeriodic(RxJavaPlugins.onSchedule(action), initialDelay, period, unit, scheduler.lane, innerSubscription);
+        }
+
+        @Override
+        public Disposable schedule(final Runnable action) {
+            return scheduleNow(action);
+        }
 
+        private Disposable scheduleNow(final Runnable action) {
+            scheduler.scheduleNow(innerSubscription, action);
+            return innerSubscription;
+        }
+
+        /**
+         * Cancels the delayed and periodic actions of this worker. On the Swing UI thread it also drops
+         * its queued actions, so that nothing they capture stays reachable until they would have run;
+         * elsewhere the drain discards them once it reaches them.
+         */
+        @Override
+        public void dispose() {
+            if (!innerSubscription.isDisposed()) {
+                innerSubscription.dispose();
+                SwingDrainLoop.getInstance().purge(innerSubscription);
+            }
         }
 
         @Override
@@ -0,0 +1,173 @@
+/**
+ * Copyright 2014 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package rx.schedulers;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * The Java Flight Recorder events of the Swing schedulers.
+ * <p>
+ * Queued actions are recorded with a {@link TaskSubmitted} event on the submitting thread, and a
+ * {@link TaskStarted} and a {@link TaskFinished} event on the Swing UI thread. Nothing is recorded
+ * unless a recording has the events enabled.
+ * <p>
+ * The events are only touched through {@link Recorder}, which is loaded on first use. On a runtime
+ * without the {@code jdk.jfr} module it fails to link and the events stay disabled.
+ */
+/* package-private */final class SwingSchedulerEvents {
+    private static final boolean AVAILABLE = isAvailable();
+
+    private SwingSchedulerEvents() {
+    }
+
+    /**
+     * @return whether a recording is interested in any of the events.
+     */
+    static boolean isEnabled() {
+        return AVAILABLE && Recorder.isEnabled();
+    }
+
+    static void submitted(long delayNanos) {
+        if (AVAILABLE) {
+            Recorder.submitted(delayNanos);
+        }
+    }
+
+    /**
+     * Runs the action, recording when it started and finished.
+     */
+    static void execute(Runnable action, Thread submitter, long delayNanos, long queueNanos) {
+        if (AVAILABLE) {
+            Recorder.execute(action, submitter, delayNanos, queueNanos);
+        } else {
+            SwingSchedulerMetrics.execute(action);
+        }
+    }
+
+    private static boolean isAvailable() {
+        try {
+            Class.forName(Recorder.class.getName(), true, SwingSchedulerEvents.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Holds everything which links against {@code jdk.jfr}.
+     */
+    private static final class Recorder {
+        // only asked whether they are enabled, so the hot path does not allocate
+        private static final TaskSubmitted SUBMITTED = new TaskSubmitted();
+        private static final TaskStarted STARTED = new TaskStarted();
+        private static final TaskFinished FINISHED = new TaskFinished();
+
+        private Recorder() {
+        }
+
+        static boolean isEnabled() {
+            return SUBMITTED.isEnabled() || STARTED.isEnabled() || FINISHED.isEnabled();
+        }
+
+        static void submitted(long delayNanos) {
+            if (SUBMITTED.isEnabled()) {
+                final TaskSubmitted event = new TaskSubmitted();
+                event.delay = delayNanos;
+                event.commit();
+            }
+        }
+
+        static void execute(Runnable action, Thread submitter, long delayNanos, long queueNanos) {
+            if (STARTED.isEnabled()) {
+                final TaskStarted started = new TaskStarted();
+                started.submittingThread = submitter;
+                started.delay = delayNanos;
+                started.queueTime = queueNanos;
+                started.commit();
+            }
+            if (!FINISHED.isEnabled()) {
+                SwingSchedulerMetrics.execute(action);
+                return;
+            }
+            final TaskFinished finished = new TaskFinished();
+            finished.begin();
+            try {
+                SwingSchedulerMetrics.execute(action);
+            } finally {
+                finished.end();
+                if (finished.shouldCommit()) {
+                    finished.submittingThread = submitter;
+                    finished.delay = delayNanos;
+                    finished.queueTime = queueNanos;
+                    finished.commit();
+                }
+            }
+        }
+    }
+
+    @Name("rx.swing.TaskSubmitted")
+    @Label("Swing Task Submitted")
+    @Category({"RxSwing", "Scheduler"})
+    @Description("An action was submitted to run on the Swing UI thread")
+    static final class TaskSubmitted extends Event {
+        @Label("Delay")
+        @Timespan(Timespan.NANOSECONDS)
+        long delay;
+    }
+
+    @Name("rx.swing.TaskStarted")
+    @Label("Swing Task Started")
+    @Category({"RxSwing", "Scheduler"})
+    @Description("A queued action started to run on the Swing UI thread")
+    @StackTrace(false)
+    static final class TaskStarted extends Event {
+        @Label("Submitting Thread")
+        Thread submittingThread;
+
+        @Label("Delay")
+        @Timespan(Timespan.NANOSECONDS)
+        long delay;
+
+        @Label("Queue Time")
+        @Description("The time from submission, or from the end of the delay, until the action started")
+        @Timespan(Timespan.NANOSECONDS)
+        long queueTime;
+    }
+
+    @Name("rx.swing.TaskFinished")
+    @Label("Swing Task Finished")
+    @Category({"RxSwing", "Scheduler"})
+    @Description("A queued action ran on the Swing UI thread; the duration of the event is its run time")
+    @StackTrace(false)
+    static final class TaskFinished extends Event {
+        @Label("Submitting Thread")
+        Thread submittingThread;
+
+        @Label("Delay")
+        @Timespan(Timespan.NANOSECONDS)
+        long delay;
+
+        @Label("Queue Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long queueTime;
+    }
+}
@@ -0,0 +1,256 @@
+/**
+ * Copyright 2014 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package rx.schedulers;
+
+import io.reactivex.rxjava3.annotations.NonNull;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in instrumentation of the Swing schedulers.
+ * <p>
+ * Once {@link #enable() enabled}, every action queued for the Swing UI thread by a {@link SwingScheduler}
+ * or {@link SwingFrameScheduler} is counted while pending, and the time from scheduling until it starts
+ * (its schedule latency) and the time it runs (its execution time) are recorded in histograms. A long
+ * schedule latency with short execution times points at a busy event queue, long execution times at slow
+ * subscribers. Actions running inline because they were scheduled on the Swing UI thread are never
+ * pending and have no schedule latency, but their execution time is recorded too. An action scheduled
+ * inline while another recorded action runs counts towards the execution time of that one only. While
+ * disabled, which is the default, the schedulers only check a flag.
+ * <p>
+ * Histograms have {@value #BUCKETS} buckets with power of two bounds in microseconds: bucket 0 counts
+ * times below 2&micro;s, bucket {@code i} times from 2<sup>i</sup>&micro;s up to 2<sup>i+1</sup>&micro;s,
+ * and the last bucket all longer times.
+ * <p>
+ * The same figures are available through JMX as the MXBean {@value #OBJECT_NAME}, registered on the
+ * platform MBean server when the metrics are enabled for the first time.
+ */
+public final class SwingSchedulerMetrics {
+    /**
+     * The number of buckets of each histogram.
+     */
+    public static final int BUCKETS = 32;
+    /**
+     * The name of the MXBean exposing the metrics.
+     */
+    public static final String OBJECT_NAME = "rx.schedulers:type=SwingSchedulerMetrics";
+
+    static volatile boolean enabled;
+    private static final LongAdder pending = new LongAdder();
+    private static final AtomicLongArray scheduleLatency = new AtomicLongArray(BUCKETS);
+    private static final AtomicLongArray executionTime = new AtomicLongArray(BUCKETS);
+    private static final LongAdder slowTasks = new LongAdder();
+    private static volatile long slowTaskThresholdNanos = TimeUnit.MILLISECONDS.toNanos(16);
+    private static boolean registered;
+    private static boolean running; // whether a recorded action is running, confined to the Swing UI thread
+
+    private SwingSchedulerMetrics() {
+    }
+
+    /**
+     * Starts recording. Actions queued before are not counted.
+     */
+    public static void enable() {
+        register();
+        enabled = true;
+    }
+
+    /**
+     * Stops recording. The figures recorded so far are kept.
+     */
+    public static void disable() {
+        enabled = false;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Clears the histograms and the slow task count. The pending task count is not affected.
+     */
+    public static void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            scheduleLatency.set(i, 0);
+            executionTime.set(i, 0);
+        }
+        slowTasks.reset();
+    }
+
+    /**
+     * @return the number of recorded actions queued but not yet started or dropped.
+     */
+    public static long getPendingTaskCount() {
+        return pending.sum();
+    }
+
+    /**
+     * @return the number of actions per bucket of schedule latency.
+     */
+    public static long[] getScheduleLatencyHistogram() {
+        return snapshot(scheduleLatency);
+    }
+
+    /**
+     * @return the number of actions per bucket of execution time.
+     */
+    public static long[] getExecutionTimeHistogram() {
+        return snapshot(executionTime);
+    }
+
+    /**
+     * @return the number of actions which ran longer than the {@link #setSlowTaskThreshold slow task threshold}.
+     */
+    public static long getSlowTaskCount() {
+        return slowTasks.sum();
+    }
+
+    /**
+     * Sets the execution time above which an action counts as slow, 16 milliseconds by default.
+     *
+     * @param time The threshold.
+     * @param unit The unit of the threshold.
+     * @throws IllegalArgumentException if the threshold is negative.
+     */
+    public static void setSlowTaskThreshold(long time, @NonNull TimeUnit unit) {
+        if (time < 0) {
+            throw new IllegalArgumentException("The slow task threshold must not be negative, but was " + time + " " + unit);
+        }
+        slowTaskThresholdNanos = unit.toNanos(time);
+    }
+
+    public static long getSlowTaskThreshold(@NonNull TimeUnit unit) {
+        return unit.convert(slowTaskThresholdNanos, TimeUnit.NANOSECONDS);
+    }
+
+    static void queued() {
+        pending.increment();
+    }
+
+    static void dequeued(long latencyNanos) {
+        pending.decrement();
+        record(scheduleLatency, latencyNanos);
+    }
+
+    static void dropped() {
+        pending.decrement();
+    }
+
+    /**
+     * Runs an action on the Swing UI thread, taken from a queue or scheduled inline, recording its
+     * execution time if enabled and no other recorded action is running.
+     */
+    static void execute(Runnable action) {
+        if (!enabled || running) {
+            action.run();
+            return;
+        }
+        running = true;
+        final long start = System.nanoTime();
+        try {
+            action.run();
+        } finally {
+            running = false;
+            final long elapsed = System.nanoTime() - start;
+            record(executionTime, elapsed);
+            if (elapsed > slowTaskThresholdNanos) {
+                slowTasks.increment();
+            }
+        }
+    }
+
+    private static void record(AtomicLongArray histogram, long nanos) {
+        final long micros = Math.max(1, nanos / 1000);
+        final int bucket = Math.min(BUCKETS - 1, 63 - Long.numberOfLeadingZeros(micros));
+        histogram.getAndIncrement(bucket);
+    }
+
+    private static long[] snapshot(AtomicLongArray histogram) {
+        final long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = histogram.get(i);
+        }
+        return counts;
+    }
+
+    private static synchronized void register() {
+        if (registered) {
+            return;
+        }
+        registered = true;
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new Bean(), new ObjectName(OBJECT_NAME));
+        } catch (JMException | SecurityException e) {
+            // the metrics stay available through the Java API
+        }
+    }
+
+    private static final class Bean implements SwingSchedulerMetricsMXBean {
+        @Override
+        public boolean isEnabled() {
+            return SwingSchedulerMetrics.isEnabled();
+        }
+
+        @Override
+        public void setEnabled(boolean enabled) {
+            if (enabled) {
+                enable();
+            } else {
+                disable();
+            }
+        }
+
+        @Override
+        public long getPendingTaskCount() {
+            return SwingSchedulerMetrics.getPendingTaskCount();
+        }
+
+        @Override
+        public long[] getScheduleLatencyHistogram() {
+            return SwingSchedulerMetrics.getScheduleLatencyHistogram();
+        }
+
+        @Override
+        public long[] getExecutionTimeHistogram() {
+            return SwingSchedulerMetrics.getExecutionTimeHistogram();
+        }
+
+        @Override
+        public long getSlowTaskCount() {
+            return SwingSchedulerMetrics.getSlowTaskCount();
+        }
+
+        @Override
+        public long getSlowTaskThresholdMillis() {
+            return getSlowTaskThreshold(TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void setSlowTaskThresholdMillis(long millis) {
+            setSlowTaskThreshold(millis, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void reset() {
+            SwingSchedulerMetrics.reset();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/**
+ * Copyright 2014 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package rx.schedulers;
+
+/**
+ * The JMX view of the {@link SwingSchedulerMetrics}, registered as {@value SwingSchedulerMetrics#OBJECT_NAME}.
+ */
+public interface SwingSchedulerMetricsMXBean {
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    long getPendingTaskCount();
+
+    long[] getScheduleLatencyHistogram();
+
+    long[] getExecutionTimeHistogram();
+
+    long getSlowTaskCount();
+
+    long getSlowTaskThresholdMillis();
+
+    void setSlowTaskThresholdMillis(long millis);
+
+    void reset();
+}
@@ -0,0 +1,281 @@
+/**
+ * Copyright 2014 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package rx.schedulers;
+
+import io.reactivex.rxjava3.disposables.CompositeDisposable;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.disposables.DisposableContainer;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A lock-free multi-producer single-consumer queue of actions waiting for the EDT.
+ * <p>
+ * Any thread may {@link #offer} actions, only the consuming thread may {@link #poll} them.
+ * <p>
+ * Nodes are recycled, so a steady stream of actions allocates nothing per action. The consumer
+ * pushes each node it is done with onto a shared free list. A producer takes nodes from a stash of
+ * its own thread and refills the stash by taking the whole free list at once, which keeps the free
+ * list free of ABA races without any locking.
+ * <p>
+ * The free list holds at most {@value #MAX_FREE} nodes, and so does each stash, as it only ever takes
+ * one free list. Nodes released beyond that are left to the garbage collector, so a burst of actions
+ * does not keep its peak number of nodes reachable once the queue has drained.
+ */
+/* package-private */final class SwingTaskQueue {
+    /**
+     * Returned by {@link #poll()} in place of an action whose owner was disposed while it was queued.
+     */
+    static final Runnable DISPOSED = () -> {
+    };
+    static final int MAX_FREE = 1024;
+    private static final AtomicReference<Node> FREE = new AtomicReference<>();
+    private static final ThreadLocal<Stash> STASH = ThreadLocal.withInitial(Stash::new);
+
+    private final AtomicReference<Node> tail;
+    private Node head;
+    // the recorded submission of the action last polled, confined to the consuming thread
+    private Thread polledSubmitter;
+    private long polledDelayNanos;
+    private long polledQueueNanos;
+
+    SwingTaskQueue() {
+        head = new Node();
+        tail = new AtomicReference<>(head);
+    }
+
+    /**
+     * Appends the action. It is replaced by {@link #DISPOSED} if its owner, when given, is disposed by
+     * the time it is polled.
+     */
+    void offer(Disposable owner, Runnable action) {
+        Thread submitter = null;
+        if (SwingSchedulerEvents.isEnabled()) {
+            submitter = Thread.currentThread();
+            SwingSchedulerEvents.submitted(0L);
+        }
+        offer(owner, action, submitter, 0L);
+    }
+
+    /**
+     * Appends an action whose submission has been recorded already, e.g. a delayed action that came due.
+     *
+     * @param submitter The thread which submitted the action, or {@code null} if it is not recorded.
+     * @param delayNanos The delay the action was submitted with.
+     */
+    void offer(Disposable owner, Runnable action, Thread submitter, long delayNanos) {
+        final Node node = acquire();
+        if (owner instanceof Owner) {
+            Owner.QUEUED.getAndIncrement((Owner) owner);
+        }
+        node.owner = owner;
+        node.action = action;
+        if (SwingSchedulerMetrics.enabled) {
+            node.queuedAt = System.nanoTime();
+            SwingSchedulerMetrics.queued();
+        }
+        if (submitter != null) {
+            node.submitter = submitter;
+            node.submittedAt = System.nanoTime();
+            node.delayNanos = delayNanos;
+        }
+        tail.getAndSet(node).lazySet(node);
+    }
+
+    /**
+     * Returns the next action, or {@code null} if there is none. An action that has been offered but
+     * whose offer has not completed yet may be missed; callers tracking the number of offers should
+     * poll again. The action is to be run by {@link #execute}.
+     */
+    Runnable poll() {
+        final Node next = head.get();
+        if (next == null) {
+            return null;
+        }
+        // the polled node becomes the new stub head, the old one is no longer referenced by anyone
+        final Node done = head;
+        head = next;
+        release(done);
+        final Disposable owner = next.owner;
+        final Runnable action = next.action;
+        final long queuedAt = next.queuedAt;
+        final Thread submitter = next.submitter;
+        next.owner = null;
+        next.action = null;
+        next.queuedAt = 0L;
+        next.submitter = null;
+        if (owner instanceof Owner) {
+            Owner.QUEUED.getAndDecrement((Owner) owner);
+        }
+        if (action == null || owner != null && owner.isDisposed()) {
+            if (queuedAt != 0L) {
+                SwingSchedulerMetrics.dropped();
+            }
+            return DISPOSED;
+        }
+        if (queuedAt != 0L) {
+            SwingSchedulerMetrics.dequeued(System.nanoTime() - queuedAt);
+        }
+        if (submitter != null) {
+            polledSubmitter = submitter;
+            polledDelayNanos = next.delayNanos;
+            polledQueueNanos = System.nanoTime() - next.submittedAt;
+        }
+        return action;
+    }
+
+    /**
+     * Runs the action returned by the last {@link #poll()}, recording it for the metrics and the flight
+     * recorder if they are enabled. {@link #DISPOSED} has been counted as dropped already and is skipped.
+     */
+    void execute(Runnable action) {
+        if (action == DISPOSED) {
+            return;
+        }
+        final Thread submitter = polledSubmitter;
+        if (submitter == null) {
+            SwingSchedulerMetrics.execute(action);
+            return;
+        }
+        polledSubmitter = null;
+        SwingSchedulerEvents.execute(action, submitter, polledDelayNanos, polledQueueNanos);
+    }
+
+    /**
+     * @return whether there is nothing to poll. May only be called by the consuming thread.
+     */
+    boolean isEmpty() {
+        return head.get() == null;
+    }
+
+    /**
+     * Drops the actions of the owner that are still queued, so that they no longer keep what they
+     * captured reachable. Like {@link #poll()}, it may only be called by the consuming thread.
+     */
+    void purge(Owner owner) {
+        for (Node node = head.get(); node != null && owner.hasQueued(); node = node.get()) {
+            if (node.owner == owner) {
+                node.owner = null;
+                node.action = null;
+                Owner.QUEUED.getAndDecrement(owner);
+            }
+        }
+    }
+
+    private static Node acquire() {
+        final Stash stash = STASH.get();
+        Node node = stash.head;
+        if (node == null) {
+            node = FREE.getAndSet(null);
+            if (node == null) {
+                return new Node();
+            }
+        }
+        stash.head = node.nextFree;
+        node.nextFree = null;
+        return node;
+    }
+
+    private static void release(Node node) {
+        node.lazySet(null);
+        for (;;) {
+            final Node top = FREE.get();
+            final int depth = top == null ? 1 : top.freeDepth + 1;
+            if (depth > MAX_FREE) {
+                return;
+            }
+            node.nextFree = top;
+            node.freeDepth = depth;
+            if (FREE.compareAndSet(top, node)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return how many nodes the free list and the stash of the calling thread hold.
+     */
+    static int pooledNodes() {
+        final Node top = FREE.get();
+        int pooled = top == null ? 0 : top.freeDepth;
+        for (Node node = STASH.get().head; node != null; node = node.nextFree) {
+            pooled++;
+        }
+        return pooled;
+    }
+
+    /**
+     * The resources of a worker, owning the actions it queues. It counts how many of them are queued
+     * in any queue, so that disposing a worker with nothing queued does not have to look for them.
+     */
+    static final class Owner implements Disposable, DisposableContainer {
+        private static final AtomicIntegerFieldUpdater<Owner> QUEUED =
+                AtomicIntegerFieldUpdater.newUpdater(Owner.class, "queued");
+
+        private final CompositeDisposable resources = new CompositeDisposable();
+        private volatile int queued;
+
+        /**
+         * @return whether any action of this owner may still be queued.
+         */
+        boolean hasQueued() {
+            return queued != 0;
+        }
+
+        @Override
+        public boolean add(Disposable disposable) {
+            return resources.add(disposable);
+        }
+
+        @Override
+        public boolean remove(Disposable disposable) {
+            return resources.remove(disposable);
+        }
+
+        @Override
+        public boolean delete(Disposable disposable) {
+            return resources.delete(disposable);
+        }
+
+        @Override
+        public void dispose() {
+            resources.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return resources.isDisposed();
+        }
+    }
+
+    private static final class Node extends AtomicReference<Node> {
+        private static final long serialVersionUID = -4123536462196151345L;
+
+        private Disposable owner;
+        private Runnable action;
+        private long queuedAt; // 0 unless recorded by the metrics
+        private Thread submitter; // null unless recorded by the flight recorder
+        private long submittedAt;
+        private long delayNanos;
+        private Node nextFree;
+        private int freeDepth; // the length of the free list from this node on, while it is on it
+    }
+
+    private static final class Stash {
+        private Node head;
+    }
+}
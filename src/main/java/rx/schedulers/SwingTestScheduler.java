@@ -0,0 +1,124 @@
+/**
+ * Copyright 2014 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package rx.schedulers;
+
+import io.reactivex.rxjava3.annotations.NonNull;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A Swing scheduler running on virtual time, for tests.
+ * <p>
+ * Like {@link TestScheduler}, which it is built on, it runs no action until the clock is advanced with
+ * {@link #advanceTimeBy}, {@link #advanceTimeTo} or {@link #triggerActions}, however long the delay.
+ * Unlike it, the due actions then run on the Swing UI thread, in the order of their virtual deadlines,
+ * before the advancing call returns. In headless thread mode, they run on the thread replacing it.
+ * Called from another thread, advancing the clock takes one round trip to the Swing UI thread, no
+ * matter how many actions come due. A delayed action thereby takes microseconds of real time, and no
+ * test needs to wait on latches.
+ * <p>
+ * An exception thrown by an action is rethrown by the advancing call.
+ */
+public final class SwingTestScheduler extends Scheduler {
+    private final TestScheduler scheduler;
+
+    public SwingTestScheduler() {
+        this.scheduler = new TestScheduler();
+    }
+
+    /**
+     * @param delayTime The initial virtual time.
+     * @param unit The unit of the initial virtual time.
+     */
+    public SwingTestScheduler(long delayTime, @NonNull TimeUnit unit) {
+        this.scheduler = new TestScheduler(delayTime, unit);
+    }
+
+    @Override
+    public long now(@NonNull TimeUnit unit) {
+        return scheduler.now(unit);
+    }
+
+    @Override
+    public @NonNull Worker createWorker() {
+        return scheduler.createWorker();
+    }
+
+    /**
+     * Moves the virtual clock forward and runs the actions that came due on the Swing UI thread.
+     *
+     * @param delayTime The amount of virtual time to move forward.
+     * @param unit The unit of the amount of time.
+     */
+    public void advanceTimeBy(long delayTime, @NonNull TimeUnit unit) {
+        runOnEventDispatchThread(() -> scheduler.advanceTimeBy(delayTime, unit));
+    }
+
+    /**
+     * Moves the virtual clock to the given time and runs the actions that came due on the Swing UI thread.
+     *
+     * @param delayTime The virtual time to move to.
+     * @param unit The unit of the time.
+     */
+    public void advanceTimeTo(long delayTime, @NonNull TimeUnit unit) {
+        runOnEventDispatchThread(() -> scheduler.advanceTimeTo(delayTime, unit));
+    }
+
+    /**
+     * Runs the actions due at the current virtual time on the Swing UI thread.
+     */
+    public void triggerActions() {
+        runOnEventDispatchThread(scheduler::triggerActions);
+    }
+
+    private static void runOnEventDispatchThread(Runnable action) {
+        if (SwingScheduler.isDispatchThread()) {
+            action.run();
+            return;
+        }
+        final CountDownLatch done = new CountDownLatch(1);
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        SwingDrainLoop.getInstance().enqueue(SwingDrainLoop.INPUT, null, () -> {
+            try {
+                action.run();
+            } catch (Throwable ex) {
+                error.set(ex);
+            } finally {
+                done.countDown();
+            }
+        });
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the Swing UI thread", e);
+        }
+        final Throwable cause = error.get();
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        if (cause != null) {
+            throw new IllegalStateException(cause);
+        }
+    }
+}
@@ -0,0 +1,261 @@
+/**
+ * Copyright 2014 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package rx.schedulers;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A hashed timing wheel holding the deadlines of all delayed {@link SwingScheduler} work.
+ * <p>
+ * Instead of one {@link javax.swing.Timer} per delayed task, each inserted into Swing's single
+ * sorted timer queue, tasks are hashed into buckets by their deadline tick. A single daemon thread
+ * wakes once per tick that has work, collects every task whose deadline has passed and hands
+ * them to the {@link SwingDrainLoop} together, where they reach the EDT as one batch. Insert and
+ * cancel are O(1).
+ * <p>
+ * Deadlines are kept at {@link System#nanoTime()} precision. When a bucket comes due, its tasks
+ * move to a small deadline queue and the thread parks until the earliest exact deadline, so delays
+ * below one tick or between two ticks are honoured rather than rounded to the tick.
+ */
+/* package-private */final class SwingTimingWheel implements Runnable {
+    static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int WHEEL_SIZE = 512; // must be a power of two
+    private static final int MASK = WHEEL_SIZE - 1;
+    private static final int NOT_SCHEDULED = -1;
+    private static final int DUE = -2;
+    private static final int CANCELLED = -3; // still in the deadline queue, skipped once it comes up
+    private static final SwingTimingWheel INSTANCE = new SwingTimingWheel();
+
+    private final TimedTask[] buckets = new TimedTask[WHEEL_SIZE];
+    private final PriorityQueue<TimedTask> due = new PriorityQueue<>(SwingTimingWheel::compareDeadlines);
+    private final long startTime = System.nanoTime();
+    private long currentTick;
+    private long wakeUpTime = Long.MAX_VALUE;
+    private long sequence;
+    private int size;
+    private Thread thread;
+
+    private SwingTimingWheel() {
+    }
+
+    static SwingTimingWheel getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Inserts the task so that it is handed to the EDT once the given delay has elapsed.
+     * A task may be inserted again after it expired, e.g. for the next period.
+     */
+    void schedule(TimedTask task, long delayNanos) {
+        final Thread toWake;
+        synchronized (this) {
+            if (task.bucket == CANCELLED) {
+                // its deadline orders it in the deadline queue, so it must leave before getting a new one
+                due.remove(task);
+            }
+            task.deadline = System.nanoTime() - startTime + Math.max(0, delayNanos);
+            task.sequence = sequence++;
+            if (task.deadline / TICK_NANOS < currentTick) {
+                // the bucket for this tick was processed already
+                task.bucket = DUE;
+                due.add(task);
+            } else {
+                link(task);
+                size++;
+            }
+
+            if (thread == null) {
+                thread = new Thread(this, "RxSwingTimingWheel");
+                thread.setDaemon(true);
+                thread.start();
+                toWake = null;
+            } else if (task.deadline < wakeUpTime) {
+                wakeUpTime = task.deadline;
+                toWake = thread;
+            } else {
+                toWake = null;
+            }
+        }
+        if (toWake != null) {
+            LockSupport.unpark(toWake);
+        }
+    }
+
+    /**
+     * Removes the task if it is still waiting for its deadline. A task that already expired
+     * is on its way to the EDT and is expected to notice its own cancellation.
+     * <p>
+     * A task in the deadline queue is only marked, as removing it from there is O(n); it is dropped
+     * when its deadline comes up, at most about one tick later.
+     */
+    synchronized void cancel(TimedTask task) {
+        if (task.bucket >= 0) {
+            unlink(task);
+            size--;
+        } else if (task.bucket == DUE) {
+            task.bucket = CANCELLED;
+        }
+    }
+
+    @Override
+    public void run() {
+        for (;;) {
+            final TimedTask expired;
+            final long parkNanos;
+            synchronized (this) {
+                final long now = System.nanoTime() - startTime;
+                expired = expire(now);
+                wakeUpTime = nextWakeUpTime();
+                parkNanos = wakeUpTime == Long.MAX_VALUE ? -1 : wakeUpTime - now;
+            }
+            dispatch(expired);
+            if (parkNanos < 0) {
+                LockSupport.park(this);
+            } else if (parkNanos > 0) {
+                LockSupport.parkNanos(this, parkNanos);
+            }
+        }
+    }
+
+    private static void dispatch(TimedTask expired) {
+        final SwingDrainLoop loop = SwingDrainLoop.getInstance();
+        while (expired != null) {
+            final TimedTask task = expired;
+            expired = task.next;
+            task.next = null;
+            final Thread submitter = task.submitter;
+            task.submitter = null;
+            loop.enqueue(task.lane, null, task, submitter, task.delayNanos);
+        }
+    }
+
+    /**
+     * Moves the tasks of all buckets that came due to the deadline queue and returns, in deadline
+     * order, those of them whose exact deadline has passed.
+     */
+    private TimedTask expire(long now) {
+        final long nowTick = now / TICK_NANOS;
+        final long lastTick = Math.min(nowTick, currentTick + MASK);
+        for (long tick = currentTick; tick <= lastTick && size > 0; tick++) {
+            TimedTask task = buckets[(int) (tick & MASK)];
+            while (task != null) {
+                final TimedTask next = task.next;
+                if (task.deadline / TICK_NANOS <= nowTick) {
+                    unlink(task);
+                    size--;
+                    task.bucket = DUE;
+                    due.add(task);
+                }
+                task = next;
+            }
+        }
+        currentTick = Math.max(currentTick, nowTick + 1);
+
+        TimedTask first = null;
+        TimedTask last = null;
+        while (!due.isEmpty() && due.peek().deadline <= now) {
+            final TimedTask task = due.poll();
+            final boolean cancelled = task.bucket == CANCELLED;
+            task.bucket = NOT_SCHEDULED;
+            if (cancelled) {
+                continue;
+            }
+            if (last == null) {
+                first = task;
+            } else {
+                last.next = task;
+            }
+            last = task;
+        }
+        return first;
+    }
+
+    private long nextWakeUpTime() {
+        while (!due.isEmpty() && due.peek().bucket == CANCELLED) {
+            // no need to wake up for them
+            due.poll().bucket = NOT_SCHEDULED;
+        }
+        long earliest = due.isEmpty() ? Long.MAX_VALUE : due.peek().deadline;
+        if (size > 0) {
+            for (int i = 0; i < WHEEL_SIZE; i++) {
+                final long tick = currentTick + i;
+                if (buckets[(int) (tick & MASK)] != null) {
+                    // the bucket may only hold tasks of a later round, in which case we wake up once for nothing
+                    earliest = Math.min(earliest, tick * TICK_NANOS);
+                    break;
+                }
+            }
+        }
+        return earliest;
+    }
+
+    private void link(TimedTask task) {
+        final int index = (int) ((task.deadline / TICK_NANOS) & MASK);
+        final TimedTask head = buckets[index];
+        task.bucket = index;
+        task.prev = null;
+        task.next = head;
+        if (head != null) {
+            head.prev = task;
+        }
+        buckets[index] = task;
+    }
+
+    private void unlink(TimedTask task) {
+        if (task.prev != null) {
+            task.prev.next = task.next;
+        } else {
+            buckets[task.bucket] = task.next;
+        }
+        if (task.next != null) {
+            task.next.prev = task.prev;
+        }
+        task.bucket = NOT_SCHEDULED;
+        task.prev = null;
+        task.next = null;
+    }
+
+    private static int compareDeadlines(TimedTask left, TimedTask right) {
+        final int byDeadline = Long.compare(left.deadline, right.deadline);
+        return byDeadline != 0 ? byDeadline : Long.compare(left.sequence, right.sequence);
+    }
+
+    /**
+     * An entry of the wheel. {@link #run()} is called on the EDT once the deadline has passed.
+     */
+    abstract static class TimedTask implements Runnable {
+        private final int lane;
+        private TimedTask prev;
+        private TimedTask next;
+        private long deadline;
+        private long sequence;
+        private int bucket = NOT_SCHEDULED;
+        /**
+         * The thread which scheduled the task and its delay, if recorded by the flight recorder.
+         */
+        Thread submitter;
+        long delayNanos;
+
+        /**
+         * @param lane The {@link SwingDrainLoop} lane the task is queued in once it expired.
+         */
+        TimedTask(int lane) {
+            this.lane = lane;
+        }
+    }
+}
@@ -16,15 +16,15 @@
 package rx.swing.sources;
 
 import io.reactivex.rxjava3.core.Observable;
-import io.reactivex.rxjava3.core.ObservableOnSubscribe;
-import io.reactivex.rxjava3.disposables.Disposable;
-import rx.schedulers.SwingScheduler;
 
 import javax.swing.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 
 public final class AbstractButtonSource {
+    private static final EventKind<AbstractButton, ActionListener, ActionEvent> ACTION_EVENTS =
+            EventKind.of(sink -> sink::accept, AbstractButton::addActionListener, AbstractButton::removeActionListener);
+
     private AbstractButtonSource() {
     }
 
@@ -32,10 +32,6 @@ public final class AbstractButtonSource {
      * @see rx.observables.SwingObservable#fromButtonAction
      */
     public static Observable<ActionEvent> fromActionOf(final AbstractButton button) {
-        return Observable.create((ObservableOnSubscribe<ActionEvent>) emitter -> {
-            final ActionListener listener = emitter::onNext;
-            button.addActionListener(listener);
-            emitter.setDisposable(Disposable.fromAction(() -> button.removeActionListener(listener)));
-        }).subscribeOn(SwingScheduler.getInstance()).unsubscribeOn(SwingScheduler.getInstance());
+        return SharedListeners.create(button, ACTION_EVENTS);
     }
 }
@@ -0,0 +1,248 @@
+/**
+ * Copyright 2014 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package rx.swing.sources;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.AWTEventListener;
+import java.awt.event.ActionEvent;
+import java.beans.PropertyChangeListener;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * An alternative way for the key, focus, component and window sources to receive their events.
+ * <p>
+ * By default each source component gets its own listener of every kind observed, and AWT copies the
+ * listener list of a component on every add and remove. Once enabled, the sources instead share a
+ * single {@link Toolkit#addAWTEventListener AWT event listener} per kind of events, which looks up the
+ * subscribers of each event's source in a map weakly keyed by identity. UIs observing tens of thousands
+ * of cells or widgets thereby add no event listeners to them. The map keeps neither Swing components nor
+ * their subscribers reachable: a discarded UI is collected just as with listeners of its own. Plain AWT
+ * components, which cannot hold the subscribers themselves, are kept reachable until their
+ * subscriptions are disposed.
+ * <p>
+ * Only events dispatched through the AWT event queue or {@link Component#dispatchEvent} are seen,
+ * not calls of listener methods made by hand.
+ * <p>
+ * The mouse sources always add listeners of their own. AWT only makes a lightweight component the
+ * target of mouse events while it has mouse listeners, otherwise the events go to the closest ancestor
+ * that has them, so panels, labels and renderers observed through a global listener would never see any.
+ * <p>
+ * Switching the backend only affects listeners added afterwards. It defaults to the value of the system
+ * property {@value #PROPERTY}.
+ */
+public final class AwtEventDispatcher {
+    /**
+     * The system property enabling the dispatcher when set to {@code true}.
+     */
+    public static final String PROPERTY = "rx3.swing.awt-event-listener";
+    private static final Map<Long, Route> ROUTES = new HashMap<>();
+    private static volatile boolean enabled = Boolean.getBoolean(PROPERTY);
+
+    private AwtEventDispatcher() {
+    }
+
+    /**
+     * @param enabled Whether the sources which support it receive their events through a global AWT event listener.
+     */
+    public static void setEnabled(boolean enabled) {
+        AwtEventDispatcher.enabled = enabled;
+    }
+
+    /**
+     * @return whether the sources which support it receive their events through a global AWT event listener.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Routes the events of the given mask whose source is the given one to the sink. A source may have
+     * only one sink per mask.
+     * <p>
+     * As with a listener added to it, a Swing source keeps the sink reachable, not the dispatcher: the
+     * sink is held by an entry of the {@link JComponent#getActionMap() action map} of the source, or of the
+     * root pane of a Swing window, and the route only references the source and the sink weakly. Unlike
+     * client properties, action map entries fire no property change events. An entry is lost, and with it
+     * the undisposed subscriptions, if the application replaces the action map itself. Once the source has been collected, along with the
+     * subscribers of an undisposed subscription, its route is dropped without being removed. The route
+     * holds the sinks of other sources itself, so that these stay reachable until they are removed.
+     *
+     * @return the action which stops routing events to the sink, unless it has been replaced by another
+     * sink for the source already. It does not keep the source reachable either.
+     */
+    static Runnable add(Component source, long eventMask, Consumer<AWTEvent> sink) {
+        final Route route;
+        synchronized (ROUTES) {
+            route = ROUTES.computeIfAbsent(eventMask, Route::new);
+        }
+        final JComponent holder = holderOf(source);
+        if (holder != null) {
+            holder.getActionMap().put(route.anchorKey, new Anchor(sink));
+        }
+        final SourceKey key = route.add(source, sink, holder == null);
+        return () -> {
+            route.remove(key, sink);
+            final Component current = (Component) key.get();
+            final JComponent currentHolder = current == null ? null : holderOf(current);
+            if (currentHolder != null) {
+                final ActionMap actions = currentHolder.getActionMap();
+                final Action anchor = actions.get(route.anchorKey);
+                if (anchor instanceof Anchor && ((Anchor) anchor).sink == sink) {
+                    actions.remove(route.anchorKey);
+                }
+            }
+        };
+    }
+
+    /**
+     * @return the Swing component whose action map lives as long as the source, or {@code null} if there is none.
+     */
+    private static JComponent holderOf(Component source) {
+        if (source instanceof JComponent) {
+            return (JComponent) source;
+        }
+        if (source instanceof RootPaneContainer) {
+            return ((RootPaneContainer) source).getRootPane();
+        }
+        return null;
+    }
+
+    /**
+     * Keeps a sink reachable for as long as the action map it is put in. It is never bound to any input,
+     * and is left out when the action map is serialized.
+     */
+    private static final class Anchor implements Action {
+        private final Consumer<AWTEvent> sink;
+
+        private Anchor(Consumer<AWTEvent> sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public Object getValue(String key) {
+            return null;
+        }
+
+        @Override
+        public void putValue(String key, Object value) {
+        }
+
+        @Override
+        public void setEnabled(boolean enabled) {
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+
+        @Override
+        public void addPropertyChangeListener(PropertyChangeListener listener) {
+        }
+
+        @Override
+        public void removePropertyChangeListener(PropertyChangeListener listener) {
+        }
+
+        @Override
+        public void actionPerformed(ActionEvent event) {
+            // never bound, only holds the sink
+        }
+    }
+
+    /**
+     * The listener of one event mask, installed while any source has a sink for it.
+     */
+    private static final class Route implements AWTEventListener {
+        private final long eventMask;
+        private final String anchorKey;
+        private final Map<SourceKey, WeakReference<Consumer<AWTEvent>>> sinks = new HashMap<>();
+        private final Map<SourceKey, Consumer<AWTEvent>> held = new HashMap<>(); // the sinks of sources without an anchor
+        private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+        private final SourceKey.Probe probe = new SourceKey.Probe(); // guarded by this
+        private boolean installed;
+
+        private Route(long eventMask) {
+            this.eventMask = eventMask;
+            this.anchorKey = PROPERTY + ".anchor." + Long.toHexString(eventMask);
+        }
+
+        private synchronized SourceKey add(Object source, Consumer<AWTEvent> sink, boolean hold) {
+            final SourceKey key = new SourceKey(source, collected);
+            sinks.put(key, new WeakReference<>(sink));
+            if (hold) {
+                held.put(key, sink);
+            } else {
+                held.remove(key);
+            }
+            update();
+            return key;
+        }
+
+        private synchronized void remove(SourceKey key, Consumer<AWTEvent> sink) {
+            final WeakReference<Consumer<AWTEvent>> current = sinks.get(key);
+            if (current != null && current.get() == sink) {
+                sinks.remove(key);
+                held.remove(key);
+            }
+            update();
+        }
+
+        /**
+         * Drops the sinks of collected sources, and installs the listener while any sink is left.
+         */
+        private void update() {
+            Reference<?> key;
+            while ((key = collected.poll()) != null) {
+                sinks.remove(key);
+                held.remove(key);
+            }
+            final boolean routing = !sinks.isEmpty();
+            if (routing != installed) {
+                installed = routing;
+                if (routing) {
+                    Toolkit.getDefaultToolkit().addAWTEventListener(this, eventMask);
+                } else {
+                    Toolkit.getDefaultToolkit().removeAWTEventListener(this);
+                }
+            }
+        }
+
+        /**
+         * Runs for every event of the mask across the application, so it neither allocates nor expunges
+         * collected sources, which is left to {@link #add} and {@link #remove}.
+         */
+        @Override
+        public void eventDispatched(AWTEvent event) {
+            final WeakReference<Consumer<AWTEvent>> reference;
+            synchronized (this) {
+                probe.set(event.getSource());
+                reference = sinks.get(probe);
+                probe.clear();
+            }
+            final Consumer<AWTEvent> sink = reference == null ? null : reference.get();
+            if (sink != null) {
+                sink.accept(event);
+            }
+        }
+    }
+}
@@ -16,9 +16,6 @@
 package rx.swing.sources;
 
 import io.reactivex.rxjava3.core.Observable;
-import io.reactivex.rxjava3.core.ObservableOnSubscribe;
-import io.reactivex.rxjava3.disposables.Disposable;
-import rx.schedulers.SwingScheduler;
 
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
@@ -29,6 +26,10 @@ import java.lang.reflect.Modifier;
 public final class ChangeEventSource {
     private static final String ADD_CHANGE_LISTENER_METHOD_NAME = "addChangeListener";
     private static final String REMOVE_CHANGE_LISTENER_METHOD_NAME = "removeChangeListener";
+
+    private static final EventKind<Object, ChangeListener, ChangeEvent> CHANGE_EVENTS =
+            EventKind.of(sink -> sink::accept, ChangeEventSource::addChangeListener, ChangeEventSource::removeChangeListener);
+
     private ChangeEventSource() {
     }
 
@@ -50,11 +51,7 @@ public final class ChangeEventSource {
      */
     public static Observable<ChangeEvent> fromChangeEventsOf(final Object changeEventSource) {
         checkHasChangeListenerSupport(changeEventSource);
-        return Observable.create((ObservableOnSubscribe<ChangeEvent>) emitter -> {
-            final ChangeListener listener = emitter::onNext;
-            addChangeListener(changeEventSource, listener);
-            emitter.setDisposable(Disposable.fromAction(() -> removeChangeListener(changeEventSource, listener)));
-        }).subscribeOn(SwingScheduler.getInstance()).unsubscribeOn(SwingScheduler.getInstance());
+        return SharedListeners.create(changeEventSource, CHANGE_EVENTS);
     }
 
     private static void checkHasChangeListenerSupport(Object object) {
@@ -16,10 +16,7 @@
 package rx.swing.sources;
 
 import io.reactivex.rxjava3.core.Observable;
-import io.reactivex.rxjava3.core.ObservableOnSubscribe;
-import io.reactivex.rxjava3.disposables.Disposable;
 import rx.observables.SwingObservable;
-import rx.schedulers.SwingScheduler;
 
 import java.awt.*;
 import java.awt.event.ComponentEvent;
@@ -28,6 +25,28 @@ import java.awt.event.ComponentListener;
 import static rx.swing.sources.ComponentEventSource.Predicate.RESIZED;
 
 public final class ComponentEventSource {
+    private static final EventKind<Component, ComponentListener, ComponentEvent> COMPONENT_EVENTS = EventKind.of(sink -> new ComponentListener() {
+        @Override
+        public void componentHidden(ComponentEvent event) {
+            sink.accept(event);
+        }
+
+        @Override
+        public void componentMoved(ComponentEvent event) {
+            sink.accept(event);
+        }
+
+        @Override
+        public void componentResized(ComponentEvent event) {
+            sink.accept(event);
+        }
+
+        @Override
+        public void componentShown(ComponentEvent event) {
+            sink.accept(event);
+        }
+    }, Component::addComponentListener, Component::removeComponentListener, AWTEvent.COMPONENT_EVENT_MASK);
+
     private ComponentEventSource() {
     }
 
@@ -35,31 +54,7 @@ public final class ComponentEventSource {
      * @see rx.observables.SwingObservable#fromComponentEvents
      */
     public static Observable<ComponentEvent> fromComponentEventsOf(final Component component) {
-        return Observable.create((ObservableOnSubscribe<ComponentEvent>) emitter -> {
-            final ComponentListener listener = new ComponentListener() {
-                @Override
-                public void componentHidden(ComponentEvent event) {
-                    emitter.onNext(event);
-                }
-
-                @Override
-                public void componentMoved(ComponentEvent event) {
-                    emitter.onNext(event);
-                }
-
-                @Override
-                public void componentResized(ComponentEvent event) {
-                    emitter.onNext(event);
-                }
-
-                @Override
-                public void componentShown(ComponentEvent event) {
-                    emitter.onNext(event);
-                }
-            };
-            component.addComponentListener(listener);
-            emitter.setDisposable(Disposable.fromAction(() -> component.removeComponentListener(listener)));
-        }).subscribeOn(SwingScheduler.getInstance()).unsubscribeOn(SwingScheduler.getInstance());
+        return SharedListeners.create(component, COMPONENT_EVENTS);
     }
 
     /**
@@ -16,15 +16,24 @@
 package rx.swing.sources;
 
 import io.reactivex.rxjava3.core.Observable;
-import io.reactivex.rxjava3.core.ObservableOnSubscribe;
-import io.reactivex.rxjava3.disposables.Disposable;
-import rx.schedulers.SwingScheduler;
 
 import java.awt.*;
 import java.awt.event.ContainerEvent;
 import java.awt.event.ContainerListener;
 
 public final class ContainerEventSource {
+    private static final EventKind<Container, ContainerListener, ContainerEvent> CONTAINER_EVENTS = EventKind.of(sink -> new ContainerListener() {
+        @Override
+        public void componentRemoved(ContainerEvent event) {
+            sink.accept(event);
+        }
+
+        @Override
+        public void componentAdded(ContainerEvent event) {
+            sink.accept(event);
+        }
+    }, Container::addContainerListener, Container::removeContainerListener);
+
     private ContainerEventSource() {
     }
 
@@ -32,21 +41,7 @@ public final class ContainerEventSource {
      * @see rx.observables.SwingObservable#fromContainerEvents
      */
     public static Observable<ContainerEvent> fromContainerEventsOf(final Container container) {
-        return Observable.create((ObservableOnSubscribe<ContainerEvent>) subscriber -> {
-            final ContainerListener listener = new ContainerListener() {
-                @Override
-                public void componentRemoved(ContainerEvent event) {
-                    subscriber.onNext(event);
-                }
-
-                @Override
-                public void componentAdded(ContainerEvent event) {
-                    subscriber.onNext(event);
-                }
-            };
-            container.addContainerListener(listener);
-            subscriber.setDisposable(Disposable.fromAction(() -> container.removeContainerListener(listener)));
-        }).subscribeOn(SwingScheduler.getInstance()).unsubscribeOn(SwingScheduler.getInstance());
+        return SharedListeners.create(container, CONTAINER_EVENTS);
     }
 
     public enum Predicate implements io.reactivex.rxjava3.functions.Predicate<ContainerEvent> {
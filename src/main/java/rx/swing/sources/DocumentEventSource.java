@@ -16,15 +16,29 @@
 package rx.swing.sources;
 
 import io.reactivex.rxjava3.core.Observable;
-import io.reactivex.rxjava3.core.ObservableOnSubscribe;
-import io.reactivex.rxjava3.disposables.Disposable;
-import rx.schedulers.SwingScheduler;
 
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
 import javax.swing.text.Document;
 
 public final class DocumentEventSource {
+    private static final EventKind<Document, DocumentListener, DocumentEvent> DOCUMENT_EVENTS = EventKind.of(sink -> new DocumentListener() {
+        @Override
+        public void insertUpdate(DocumentEvent event) {
+            sink.accept(event);
+        }
+
+        @Override
+        public void removeUpdate(DocumentEvent event) {
+            sink.accept(event);
+        }
+
+        @Override
+        public void changedUpdate(DocumentEvent event) {
+            sink.accept(event);
+        }
+    }, Document::addDocumentListener, Document::removeDocumentListener);
+
     private DocumentEventSource() {
     }
 
@@ -32,25 +46,6 @@ public final class DocumentEventSource {
      * @see rx.observables.SwingObservable#fromDocumentEvents(Document)
      */
     public static Observable<DocumentEvent> fromDocumentEventsOf(final Document document) {
-        return Observable.create((ObservableOnSubscribe<DocumentEvent>) subscriber -> {
-            final DocumentListener listener = new DocumentListener() {
-                @Override
-                public void insertUpdate(DocumentEvent event) {
-                    subscriber.onNext(event);
-                }
-
-                @Override
-                public void removeUpdate(DocumentEvent event) {
-                    subscriber.onNext(event);
-                }
-
-                @Override
-                public void changedUpdate(DocumentEvent event) {
-                    subscriber.onNext(event);
-                }
-            };
-            document.addDocumentListener(listener);
-            subscriber.setDisposable(Disposable.fromAction(() -> document.removeDocumentListener(listener)));
-        }).subscribeOn(SwingScheduler.getInstance()).unsubscribeOn(SwingScheduler.getInstance());
+        return SharedListeners.create(document, DOCUMENT_EVENTS);
     }
 }
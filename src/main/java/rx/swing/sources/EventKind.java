@@ -0,0 +1,107 @@
+/**
+ * Copyright 2014 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package rx.swing.sources;
+
+import java.awt.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A kind of listener a source of Swing events supports, e.g. the {@link java.awt.event.MouseListener}s
+ * of a {@link java.awt.Component}.
+ *
+ * @param <S> The type of the source of the events.
+ * @param <L> The type of the listener.
+ * @param <T> The type of the events.
+ */
+/* package-private */final class EventKind<S, L, T> {
+    private final Function<Consumer<T>, L> listenerFactory;
+    private final BiConsumer<S, L> add;
+    private final BiConsumer<S, L> remove;
+    private final long awtEventMask;
+    private final int firstAwtEventId;
+    private final int lastAwtEventId;
+
+    private EventKind(Function<Consumer<T>, L> listenerFactory, BiConsumer<S, L> add, BiConsumer<S, L> remove,
+                      long awtEventMask, int firstAwtEventId, int lastAwtEventId) {
+        this.listenerFactory = listenerFactory;
+        this.add = add;
+        this.remove = remove;
+        this.awtEventMask = awtEventMask;
+        this.firstAwtEventId = firstAwtEventId;
+        this.lastAwtEventId = lastAwtEventId;
+    }
+
+    /**
+     * @param listenerFactory Creates a listener passing every event it receives to the given consumer.
+     * @param add Adds a listener to a source.
+     * @param remove Removes a listener from a source.
+     */
+    static <S, L, T> EventKind<S, L, T> of(Function<Consumer<T>, L> listenerFactory, BiConsumer<S, L> add, BiConsumer<S, L> remove) {
+        return new EventKind<>(listenerFactory, add, remove, 0L, 0, 0);
+    }
+
+    /**
+     * Creates a kind of events of a {@link java.awt.Component} which can also be received through the
+     * {@link AwtEventDispatcher}.
+     *
+     * @param awtEventMask The {@link java.awt.AWTEvent} mask selecting exactly the events the listener receives.
+     */
+    static <S, L, T> EventKind<S, L, T> of(Function<Consumer<T>, L> listenerFactory, BiConsumer<S, L> add, BiConsumer<S, L> remove, long awtEventMask) {
+        return new EventKind<>(listenerFactory, add, remove, awtEventMask, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a kind of events of a {@link java.awt.Component} which can also be received through the
+     * {@link AwtEventDispatcher}, for a mask selecting more events than the listener receives.
+     *
+     * @param awtEventMask The {@link java.awt.AWTEvent} mask selecting the events the listener receives, among others.
+     * @param firstAwtEventId The first id of the events the listener receives.
+     * @param lastAwtEventId The last id of the events the listener receives.
+     */
+    static <S, L, T> EventKind<S, L, T> of(Function<Consumer<T>, L> listenerFactory, BiConsumer<S, L> add, BiConsumer<S, L> remove,
+                                           long awtEventMask, int firstAwtEventId, int lastAwtEventId) {
+        return new EventKind<>(listenerFactory, add, remove, awtEventMask, firstAwtEventId, lastAwtEventId);
+    }
+
+    L createListener(Consumer<T> sink) {
+        return listenerFactory.apply(sink);
+    }
+
+    void add(S source, L listener) {
+        add.accept(source, listener);
+    }
+
+    void remove(S source, L listener) {
+        remove.accept(source, listener);
+    }
+
+    /**
+     * @return the mask of the events of this kind, or 0 if they cannot be received through the {@link AwtEventDispatcher}.
+     */
+    long awtEventMask() {
+        return awtEventMask;
+    }
+
+    /**
+     * @return whether the listener of this kind receives the given event selected by the {@link #awtEventMask()}.
+     */
+    boolean receives(AWTEvent event) {
+        final int id = event.getID();
+        return id >= firstAwtEventId && id <= lastAwtEventId;
+    }
+}
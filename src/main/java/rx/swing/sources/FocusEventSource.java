@@ -16,16 +16,25 @@
 package rx.swing.sources;
 
 import io.reactivex.rxjava3.core.Observable;
-import io.reactivex.rxjava3.core.ObservableOnSubscribe;
-import io.reactivex.rxjava3.disposables.Disposable;
 import io.reactivex.rxjava3.functions.Function;
-import rx.schedulers.SwingScheduler;
 
 import java.awt.*;
 import java.awt.event.FocusEvent;
 import java.awt.event.FocusListener;
 
 public final class FocusEventSource {
+    private static final EventKind<Component, FocusListener, FocusEvent> FOCUS_EVENTS = EventKind.of(sink -> new FocusListener() {
+        @Override
+        public void focusGained(FocusEvent event) {
+            sink.accept(event);
+        }
+
+        @Override
+        public void focusLost(FocusEvent event) {
+            sink.accept(event);
+        }
+    }, Component::addFocusListener, Component::removeFocusListener, AWTEvent.FOCUS_EVENT_MASK);
+
     private FocusEventSource() {
     }
 
@@ -33,22 +42,7 @@ public final class FocusEventSource {
      * @see rx.observables.SwingObservable#fromFocusEvents
      */
     public static Observable<FocusEvent> fromFocusEventsOf(final Component component) {
-        return Observable.create((ObservableOnSubscribe<FocusEvent>) subscriber -> {
-            final FocusListener listener = new FocusListener() {
-
-                @Override
-                public void focusGained(FocusEvent event) {
-                    subscriber.onNext(event);
-                }
-
-                @Override
-                public void focusLost(FocusEvent event) {
-                    subscriber.onNext(event);
-                }
-            };
-            component.addFocusListener(listener);
-            subscriber.setDisposable(Disposable.fromAction(() -> component.removeFocusListener(listener)));
-        }).subscribeOn(SwingScheduler.getInstance()).unsubscribeOn(SwingScheduler.getInstance());
+        return SharedListeners.create(component, FOCUS_EVENTS);
     }
 
     /**
@@ -16,9 +16,6 @@
 package rx.swing.sources;
 
 import io.reactivex.rxjava3.core.Observable;
-import io.reactivex.rxjava3.core.ObservableOnSubscribe;
-import io.reactivex.rxjava3.disposables.Disposable;
-import rx.schedulers.SwingScheduler;
 
 import java.awt.*;
 import java.awt.event.HierarchyBoundsListener;
@@ -26,6 +23,21 @@ import java.awt.event.HierarchyEvent;
 import java.awt.event.HierarchyListener;
 
 public final class HierarchyEventSource {
+    private static final EventKind<Component, HierarchyListener, HierarchyEvent> HIERARCHY_EVENTS =
+            EventKind.of(sink -> sink::accept, Component::addHierarchyListener, Component::removeHierarchyListener);
+
+    private static final EventKind<Component, HierarchyBoundsListener, HierarchyEvent> HIERARCHY_BOUNDS_EVENTS = EventKind.of(sink -> new HierarchyBoundsListener() {
+        @Override
+        public void ancestorMoved(HierarchyEvent e) {
+            sink.accept(e);
+        }
+
+        @Override
+        public void ancestorResized(HierarchyEvent e) {
+            sink.accept(e);
+        }
+    }, Component::addHierarchyBoundsListener, Component::removeHierarchyBoundsListener);
+
     private HierarchyEventSource() {
     }
 
@@ -33,33 +45,14 @@ public final class HierarchyEventSource {
      * @see rx.observables.SwingObservable#fromHierarchyEvents
      */
     public static Observable<HierarchyEvent> fromHierarchyEventsOf(final Component component) {
-        return Observable.create((ObservableOnSubscribe<HierarchyEvent>) emitter -> {
-                    final HierarchyListener hierarchyListener = emitter::onNext;
-                    component.addHierarchyListener(hierarchyListener);
-                    emitter.setDisposable(Disposable.fromAction(() -> component.removeHierarchyListener(hierarchyListener)));
-                }).subscribeOn(SwingScheduler.getInstance())
-                .unsubscribeOn(SwingScheduler.getInstance());
+        return SharedListeners.create(component, HIERARCHY_EVENTS);
     }
 
     /**
      * @see rx.observables.SwingObservable#fromHierarchyBoundsEvents
      */
     public static Observable<HierarchyEvent> fromHierarchyBoundsEventsOf(final Component component) {
-        return Observable.create((ObservableOnSubscribe<HierarchyEvent>) emitter -> {
-            final HierarchyBoundsListener hierarchyBoundsListener = new HierarchyBoundsListener() {
-                @Override
-                public void ancestorMoved(HierarchyEvent e) {
-                    emitter.onNext(e);
-                }
-
-                @Override
-                public void ancestorResized(HierarchyEvent e) {
-                    emitter.onNext(e);
-                }
-            };
-            component.addHierarchyBoundsListener(hierarchyBoundsListener);
-            emitter.setDisposable(Disposable.fromAction(() -> component.removeHierarchyBoundsListener(hierarchyBoundsListener)));
-        }).subscribeOn(SwingScheduler.getInstance()).unsubscribeOn(SwingScheduler.getInstance());
+        return SharedListeners.create(component, HIERARCHY_BOUNDS_EVENTS);
     }
 
     public enum Predicate implements io.reactivex.rxjava3.functions.Predicate<HierarchyEvent> {
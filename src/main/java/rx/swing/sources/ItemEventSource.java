@@ -16,23 +16,19 @@
 package rx.swing.sources;
 
 import io.reactivex.rxjava3.core.Observable;
-import io.reactivex.rxjava3.core.ObservableOnSubscribe;
-import io.reactivex.rxjava3.disposables.Disposable;
-import rx.schedulers.SwingScheduler;
 
 import java.awt.*;
 import java.awt.event.ItemEvent;
 import java.awt.event.ItemListener;
 
 public final class ItemEventSource {
+    private static final EventKind<ItemSelectable, ItemListener, ItemEvent> ITEM_EVENTS =
+            EventKind.of(sink -> sink::accept, ItemSelectable::addItemListener, ItemSelectable::removeItemListener);
+
     private ItemEventSource() {
     }
 
     public static Observable<ItemEvent> fromItemEventsOf(final ItemSelectable itemSelectable) {
-        return Observable.create((ObservableOnSubscribe<ItemEvent>) emitter -> {
-            final ItemListener listener = emitter::onNext;
-            itemSelectable.addItemListener(listener);
-            emitter.setDisposable(Disposable.fromAction(() -> itemSelectable.removeItemListener(listener)));
-        }).subscribeOn(SwingScheduler.getInstance()).unsubscribeOn(SwingScheduler.getInstance());
+        return SharedListeners.create(itemSelectable, ITEM_EVENTS);
     }
 }
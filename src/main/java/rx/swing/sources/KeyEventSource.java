@@ -16,10 +16,7 @@
 package rx.swing.sources;
 
 import io.reactivex.rxjava3.core.Observable;
-import io.reactivex.rxjava3.core.ObservableOnSubscribe;
-import io.reactivex.rxjava3.disposables.Disposable;
 import io.reactivex.rxjava3.functions.BiFunction;
-import rx.schedulers.SwingScheduler;
 
 import java.awt.*;
 import java.awt.event.KeyEvent;
@@ -29,6 +26,23 @@ import java.util.HashSet;
 import java.util.Set;
 
 public final class KeyEventSource {
+    private static final EventKind<Component, KeyListener, KeyEvent> KEY_EVENTS = EventKind.of(sink -> new KeyListener() {
+        @Override
+        public void keyPressed(KeyEvent event) {
+            sink.accept(event);
+        }
+
+        @Override
+        public void keyReleased(KeyEvent event) {
+            sink.accept(event);
+        }
+
+        @Override
+        public void keyTyped(KeyEvent event) {
+            sink.accept(event);
+        }
+    }, Component::addKeyListener, Component::removeKeyListener, AWTEvent.KEY_EVENT_MASK);
+
     private KeyEventSource() {
     }
 
@@ -36,26 +50,7 @@ public final class KeyEventSource {
      * @see rx.observables.SwingObservable#fromKeyEvents(Component)
      */
     public static Observable<KeyEvent> fromKeyEventsOf(final Component component) {
-        return Observable.create((ObservableOnSubscribe<KeyEvent>) subscriber -> {
-            final KeyListener listener = new KeyListener() {
-                @Override
-                public void keyPressed(KeyEvent event) {
-                    subscriber.onNext(event);
-                }
-
-                @Override
-                public void keyReleased(KeyEvent event) {
-                    subscriber.onNext(event);
-                }
-
-                @Override
-                public void keyTyped(KeyEvent event) {
-                    subscriber.onNext(event);
-                }
-            };
-            component.addKeyListener(listener);
-            subscriber.setDisposable(Disposable.fromAction(() -> component.removeKeyListener(listener)));
-        }).subscribeOn(SwingScheduler.getInstance()).unsubscribeOn(SwingScheduler.getInstance());
+        return SharedListeners.create(component, KEY_EVENTS);
     }
 
     /**
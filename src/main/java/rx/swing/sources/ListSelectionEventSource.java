@@ -16,15 +16,15 @@
 package rx.swing.sources;
 
 import io.reactivex.rxjava3.core.Observable;
-import io.reactivex.rxjava3.core.ObservableOnSubscribe;
-import io.reactivex.rxjava3.disposables.Disposable;
-import rx.schedulers.SwingScheduler;
 
 import javax.swing.*;
 import javax.swing.event.ListSelectionEvent;
 import javax.swing.event.ListSelectionListener;
 
 public final class ListSelectionEventSource {
+    private static final EventKind<ListSelectionModel, ListSelectionListener, ListSelectionEvent> LIST_SELECTION_EVENTS =
+            EventKind.of(sink -> sink::accept, ListSelectionModel::addListSelectionListener, ListSelectionModel::removeListSelectionListener);
+
     private ListSelectionEventSource() {
     }
 
@@ -32,10 +32,6 @@ public final class ListSelectionEventSource {
      * @see rx.observables.SwingObservable#fromListSelectionEvents(ListSelectionModel)
      */
     public static Observable<ListSelectionEvent> fromListSelectionEventsOf(final ListSelectionModel listSelectionModel) {
-        return Observable.create((ObservableOnSubscribe<ListSelectionEvent>) emitter -> {
-            final ListSelectionListener listener = emitter::onNext;
-            listSelectionModel.addListSelectionListener(listener);
-            emitter.setDisposable(Disposable.fromAction(() -> listSelectionModel.removeListSelectionListener(listener)));
-        }).subscribeOn(SwingScheduler.getInstance()).unsubscribeOn(SwingScheduler.getInstance());
+        return SharedListeners.create(listSelectionModel, LIST_SELECTION_EVENTS);
     }
 }
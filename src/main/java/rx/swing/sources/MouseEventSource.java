@@ -16,14 +16,53 @@
 package rx.swing.sources;
 
 import io.reactivex.rxjava3.core.Observable;
-import io.reactivex.rxjava3.core.ObservableOnSubscribe;
-import io.reactivex.rxjava3.disposables.Disposable;
-import rx.schedulers.SwingScheduler;
 
 import java.awt.*;
 import java.awt.event.*;
 
 public final class MouseEventSource {
+    private static final EventKind<Component, MouseListener, MouseEvent> MOUSE_EVENTS = EventKind.of(sink -> new MouseListener() {
+        @Override
+        public void mouseClicked(MouseEvent event) {
+            sink.accept(event);
+        }
+
+        @Override
+        public void mousePressed(MouseEvent event) {
+            sink.accept(event);
+        }
+
+        @Override
+        public void mouseReleased(MouseEvent event) {
+            sink.accept(event);
+        }
+
+        @Override
+        public void mouseEntered(MouseEvent event) {
+            sink.accept(event);
+        }
+
+        @Override
+        public void mouseExited(MouseEvent event) {
+            sink.accept(event);
+        }
+    }, Component::addMouseListener, Component::removeMouseListener);
+
+    private static final EventKind<Component, MouseMotionListener, MouseEvent> MOUSE_MOTION_EVENTS = EventKind.of(sink -> new MouseMotionListener() {
+        @Override
+        public void mouseDragged(MouseEvent event) {
+            sink.accept(event);
+        }
+
+        @Override
+        public void mouseMoved(MouseEvent event) {
+            sink.accept(event);
+        }
+    }, Component::addMouseMotionListener, Component::removeMouseMotionListener);
+
+    private static final EventKind<Component, MouseWheelListener, MouseWheelEvent> MOUSE_WHEEL_EVENTS =
+            EventKind.of(sink -> sink::accept, Component::addMouseWheelListener, Component::removeMouseWheelListener);
+
     private MouseEventSource() {
     }
 
@@ -31,65 +70,18 @@ public final class MouseEventSource {
      * @see rx.observables.SwingObservable#fromMouseEvents
      */
     public static Observable<MouseEvent> fromMouseEventsOf(final Component component) {
-        return Observable.create((ObservableOnSubscribe<MouseEvent>) emitter -> {
-            final MouseListener listener = new MouseListener() {
-                @Override
-                public void mouseClicked(MouseEvent event) {
-                    emitter.onNext(event);
-                }
-
-                @Override
-                public void mousePressed(MouseEvent event) {
-                    emitter.onNext(event);
-                }
-
-                @Override
-                public void mouseReleased(MouseEvent event) {
-                    emitter.onNext(event);
-                }
-
-                @Override
-                public void mouseEntered(MouseEvent event) {
-                    emitter.onNext(event);
-                }
-
-                @Override
-                public void mouseExited(MouseEvent event) {
-                    emitter.onNext(event);
-                }
-            };
-            component.addMouseListener(listener);
-            emitter.setDisposable(Disposable.fromAction(() -> component.removeMouseListener(listener)));
-        }).subscribeOn(SwingScheduler.getInstance()).unsubscribeOn(SwingScheduler.getInstance());
+        return SharedListeners.create(component, MOUSE_EVENTS);
     }
 
     /**
      * @see rx.observables.SwingObservable#fromMouseMotionEvents
      */
     public static Observable<MouseEvent> fromMouseMotionEventsOf(final Component component) {
-        return Observable.create((ObservableOnSubscribe<MouseEvent>) emitter -> {
-            final MouseMotionListener listener = new MouseMotionListener() {
-                @Override
-                public void mouseDragged(MouseEvent event) {
-                    emitter.onNext(event);
-                }
-
-                @Override
-                public void mouseMoved(MouseEvent event) {
-                    emitter.onNext(event);
-                }
-            };
-            component.addMouseMotionListener(listener);
-            emitter.setDisposable(Disposable.fromAction(() -> component.removeMouseMotionListener(listener)));
-        }).subscribeOn(SwingScheduler.getInstance()).unsubscribeOn(SwingScheduler.getInstance());
+        return SharedListeners.create(component, MOUSE_MOTION_EVENTS);
     }
 
     public static Observable<MouseWheelEvent> fromMouseWheelEvents(final Component component) {
-        return Observable.create((ObservableOnSubscribe<MouseWheelEvent>) emitter -> {
-            final MouseWheelListener listener = emitter::onNext;
-            component.addMouseWheelListener(listener);
-            emitter.setDisposable(Disposable.fromAction(() -> component.removeMouseWheelListener(listener)));
-        }).subscribeOn(SwingScheduler.getInstance()).unsubscribeOn(SwingScheduler.getInstance());
+        return SharedListeners.create(component, MOUSE_WHEEL_EVENTS);
     }
 
     /**
@@ -97,7 +89,7 @@ public final class MouseEventSource {
      */
     public static Observable<Point> fromRelativeMouseMotion(final Component component) {
         final Observable<MouseEvent> events = fromMouseMotionEventsOf(component);
-        return Observable.zip(events, events.skip(1), (ev1, ev2) -> new Point(ev2.getX() - ev1.getX(), ev2.getY() - ev1.getY())).subscribeOn(SwingScheduler.getInstance()).unsubscribeOn(SwingScheduler.getInstance());
+        return Observable.zip(events, events.skip(1), (ev1, ev2) -> new Point(ev2.getX() - ev1.getX(), ev2.getY() - ev1.getY()));
     }
 
 }
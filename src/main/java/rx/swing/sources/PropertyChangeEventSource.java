@@ -16,23 +16,19 @@
 package rx.swing.sources;
 
 import io.reactivex.rxjava3.core.Observable;
-import io.reactivex.rxjava3.core.ObservableOnSubscribe;
-import io.reactivex.rxjava3.disposables.Disposable;
-import rx.schedulers.SwingScheduler;
 
 import java.awt.*;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 
 public final class PropertyChangeEventSource {
+    private static final EventKind<Component, PropertyChangeListener, PropertyChangeEvent> PROPERTY_CHANGE_EVENTS =
+            EventKind.of(sink -> sink::accept, Component::addPropertyChangeListener, Component::removePropertyChangeListener);
+
     private PropertyChangeEventSource() {
     }
 
     public static Observable<PropertyChangeEvent> fromPropertyChangeEventsOf(final Component component) {
-        return Observable.create((ObservableOnSubscribe<PropertyChangeEvent>) emitter -> {
-            final PropertyChangeListener listener = emitter::onNext;
-            component.addPropertyChangeListener(listener);
-            emitter.setDisposable(Disposable.fromAction(() -> component.removePropertyChangeListener(listener)));
-        }).subscribeOn(SwingScheduler.getInstance()).unsubscribeOn(SwingScheduler.getInstance());
+        return SharedListeners.create(component, PROPERTY_CHANGE_EVENTS);
     }
 }
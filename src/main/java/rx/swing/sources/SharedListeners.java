@@ -0,0 +1,343 @@
+/**
+ * Copyright 2014 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package rx.swing.sources;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Observer;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.exceptions.Exceptions;
+import io.reactivex.rxjava3.plugins.RxJavaPlugins;
+import rx.schedulers.SwingScheduler;
+
+import java.awt.*;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Shares one listener per source and {@link EventKind} between all subscriptions.
+ * <p>
+ * The first subscription for a source and kind adds a listener which fans every event out to the
+ * current subscribers, the last one to be disposed removes it again. However many observers watch
+ * a component, it thereby holds a single listener of each kind and dispatches each event once.
+ * <p>
+ * Listeners are added and removed on the Swing UI thread. Subscribing or disposing there does so
+ * inline; only calls from other threads are handed to the {@link SwingScheduler}.
+ * <p>
+ * The key, focus, component and window sources can also be served by the {@link AwtEventDispatcher}
+ * instead of listeners of their own.
+ * <p>
+ * In {@link WeakListeners weak listener mode}, a source references the shared listener only weakly, so that
+ * an undisposed subscription no longer keeps its subscribers reachable from the source.
+ * <p>
+ * Sources are told apart by identity. The registry only references sources and shared listeners
+ * weakly: a listener is kept alive by the source it is added to, and a source no longer used
+ * elsewhere is collected along with its listeners, as if they had been added directly.
+ */
+/* package-private */final class SharedListeners {
+    private static final Map<SourceKey, Map<EventKind<?, ?, ?>, WeakReference<Shared<?, ?, ?>>>> REGISTRY = new HashMap<>();
+    private static final ReferenceQueue<Object> COLLECTED = new ReferenceQueue<>();
+    private static final ReferenceQueue<Object> RELEASED = new ReferenceQueue<>();
+
+    private SharedListeners() {
+    }
+
+    /**
+     * @return an observable emitting the events of the given kind of the source through the shared listener.
+     */
+    static <S, L, T> Observable<T> create(S source, EventKind<S, L, T> kind) {
+        return RxJavaPlugins.onAssembly(new SharedObservable<>(source, kind));
+    }
+
+    private static <S, L, T> Shared<S, L, T> attach(S source, EventKind<S, L, T> kind, Subscription<S, L, T> subscription) {
+        synchronized (REGISTRY) {
+            expungeCollectedSources();
+            expungeReleasedSinks();
+            Map<EventKind<?, ?, ?>, WeakReference<Shared<?, ?, ?>>> kinds = REGISTRY.get(new SourceKey(source, null));
+            final WeakReference<Shared<?, ?, ?>> reference = kinds == null ? null : kinds.get(kind);
+            @SuppressWarnings("unchecked")
+            Shared<S, L, T> shared = reference == null ? null : (Shared<S, L, T>) reference.get();
+            if (shared == null) {
+                shared = new Shared<>(kind);
+                // registered only once the listener is added, so a source that rejects it leaves no entry behind
+                shared.addTo(source);
+                if (kinds == null) {
+                    kinds = new IdentityHashMap<>(4);
+                    REGISTRY.put(new SourceKey(source, COLLECTED), kinds);
+                }
+                kinds.put(kind, new WeakReference<>(shared));
+            }
+            shared.subscribe(subscription);
+            return shared;
+        }
+    }
+
+    private static <S, L, T> void detach(Shared<S, L, T> shared, Subscription<S, L, T> subscription) {
+        synchronized (REGISTRY) {
+            expungeReleasedSinks();
+            if (!shared.unsubscribe(subscription)) {
+                return;
+            }
+            shared.removeFrom();
+            final SourceKey key = shared.key;
+            final Map<EventKind<?, ?, ?>, WeakReference<Shared<?, ?, ?>>> kinds = REGISTRY.get(key);
+            if (kinds != null) {
+                final WeakReference<Shared<?, ?, ?>> reference = kinds.get(shared.kind);
+                if (reference != null && reference.get() == shared) {
+                    kinds.remove(shared.kind);
+                    if (kinds.isEmpty()) {
+                        REGISTRY.remove(key);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return whether any kind of the source currently has a shared listener registered.
+     */
+    static boolean isRegistered(Object source) {
+        synchronized (REGISTRY) {
+            return REGISTRY.containsKey(new SourceKey(source, null));
+        }
+    }
+
+    private static void expungeCollectedSources() {
+        Reference<?> collected;
+        while ((collected = COLLECTED.poll()) != null) {
+            REGISTRY.remove(collected);
+        }
+    }
+
+    /**
+     * Removes the listeners whose weakly referenced subscribers have been collected in the meantime,
+     * instead of waiting for the next event of their sources.
+     */
+    private static void expungeReleasedSinks() {
+        Reference<?> released;
+        while ((released = RELEASED.poll()) != null) {
+            ((WeakSink<?>) released).remove();
+        }
+    }
+
+    private static final class SharedObservable<S, L, T> extends Observable<T> {
+        private final S source;
+        private final EventKind<S, L, T> kind;
+
+        private SharedObservable(S source, EventKind<S, L, T> kind) {
+            this.source = source;
+            this.kind = kind;
+        }
+
+        @Override
+        protected void subscribeActual(Observer<? super T> observer) {
+            final Subscription<S, L, T> subscription = new Subscription<>(source, kind, observer);
+            observer.onSubscribe(subscription);
+            if (SwingScheduler.isDispatchThread()) {
+                subscription.attach();
+            } else {
+                SwingScheduler.getInstance().scheduleDirect(subscription::attach);
+            }
+        }
+    }
+
+    /**
+     * A subscription to a shared listener. It is attached and detached on the Swing UI thread, where
+     * it is also disposed of unless it was disposed before it got attached.
+     */
+    private static final class Subscription<S, L, T> extends AtomicBoolean implements Disposable {
+        private static final long serialVersionUID = 4806356227434925112L;
+
+        private final EventKind<S, L, T> kind;
+        private final Observer<? super T> observer;
+        private S source; // cleared once attached, so that the AwtEventDispatcher does not keep the source reachable
+        private Shared<S, L, T> shared; // confined to the Swing UI thread
+
+        private Subscription(S source, EventKind<S, L, T> kind, Observer<? super T> observer) {
+            this.source = source;
+            this.kind = kind;
+            this.observer = observer;
+        }
+
+        private void attach() {
+            if (get()) {
+                return;
+            }
+            try {
+                shared = SharedListeners.attach(source, kind, this);
+            } catch (Throwable ex) {
+                Exceptions.throwIfFatal(ex);
+                if (compareAndSet(false, true)) {
+                    observer.onError(ex);
+                }
+            } finally {
+                source = null;
+            }
+        }
+
+        private void detach() {
+            if (shared != null) {
+                SharedListeners.detach(shared, this);
+                shared = null;
+            }
+        }
+
+        private void onEvent(T event) {
+            if (!get()) {
+                observer.onNext(event);
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (compareAndSet(false, true)) {
+                if (SwingScheduler.isDispatchThread()) {
+                    detach();
+                } else {
+                    SwingScheduler.getInstance().scheduleDirect(this::detach);
+                }
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return get();
+        }
+    }
+
+    /**
+     * The listener shared by the subscriptions to one kind of events of a source.
+     */
+    private static final class Shared<S, L, T> {
+        @SuppressWarnings("rawtypes")
+        private static final Subscription[] EMPTY = new Subscription[0];
+
+        private final EventKind<S, L, T> kind;
+        private final L listener; // null if it receives its events through the AwtEventDispatcher
+        private final Consumer<AWTEvent> awtSink; // null unless it receives its events through the AwtEventDispatcher
+        private final WeakSink<T> weakSink; // null unless in weak listener mode
+        private SourceKey key; // identifies the source without keeping it reachable
+        private Runnable removal;
+        @SuppressWarnings("unchecked")
+        private volatile Subscription<S, L, T>[] subscriptions = EMPTY; // copy on write, guarded by the registry
+
+        @SuppressWarnings("unchecked")
+        private Shared(EventKind<S, L, T> kind) {
+            this.kind = kind;
+            this.weakSink = WeakListeners.isEnabled() ? new WeakSink<>(this) : null;
+            final Consumer<T> sink = weakSink != null ? weakSink : this::onEvent;
+            if (kind.awtEventMask() != 0 && AwtEventDispatcher.isEnabled()) {
+                // the mask of the kind selects events of its type only, though maybe more of them than its listener gets
+                this.awtSink = event -> {
+                    if (kind.receives(event)) {
+                        sink.accept((T) event);
+                    }
+                };
+                this.listener = null;
+            } else {
+                this.awtSink = null;
+                this.listener = kind.createListener(sink);
+            }
+        }
+
+        private void addTo(S source) {
+            key = new SourceKey(source, null);
+            // the removal must not capture this, as the weak sink runs it once this has been collected
+            if (awtSink != null) {
+                // the kinds with an event mask all observe components
+                removal = AwtEventDispatcher.add((Component) source, kind.awtEventMask(), awtSink);
+            } else {
+                final EventKind<S, L, T> kind = this.kind;
+                final L listener = this.listener;
+                kind.add(source, listener);
+                removal = () -> kind.remove(source, listener);
+            }
+            if (weakSink != null) {
+                weakSink.removal = removal;
+            }
+        }
+
+        private void removeFrom() {
+            removal.run();
+        }
+
+        private void onEvent(T event) {
+            for (Subscription<S, L, T> subscription : subscriptions) {
+                subscription.onEvent(event);
+            }
+        }
+
+        private void subscribe(Subscription<S, L, T> subscription) {
+            final Subscription<S, L, T>[] current = subscriptions;
+            final Subscription<S, L, T>[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = subscription;
+            subscriptions = next;
+        }
+
+        /**
+         * @return whether the last subscriber is gone and the listener has to be removed.
+         */
+        private boolean unsubscribe(Subscription<S, L, T> subscription) {
+            final Subscription<S, L, T>[] current = subscriptions;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == subscription) {
+                    final Subscription<S, L, T>[] next = Arrays.copyOf(current, current.length - 1);
+                    System.arraycopy(current, i + 1, next, i, current.length - i - 1);
+                    subscriptions = next;
+                    return next.length == 0;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Passes events to a shared listener it only references weakly, so that the source does not keep the
+     * subscribers of an undisposed subscription reachable. Once they have been collected, the listener is
+     * removed from the source by the next event, or by the next subscription or disposal of any source.
+     */
+    private static final class WeakSink<T> extends WeakReference<Shared<?, ?, T>> implements Consumer<T> {
+        private Runnable removal; // confined to the Swing UI thread
+
+        private WeakSink(Shared<?, ?, T> shared) {
+            super(shared, RELEASED);
+        }
+
+        @Override
+        public void accept(T event) {
+            final Shared<?, ?, T> shared = get();
+            if (shared != null) {
+                shared.onEvent(event);
+            } else {
+                remove();
+            }
+        }
+
+        private void remove() {
+            if (removal != null) {
+                final Runnable remove = removal;
+                removal = null;
+                remove.run();
+            }
+        }
+    }
+}
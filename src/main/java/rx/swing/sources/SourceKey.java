@@ -0,0 +1,83 @@
+/**
+ * Copyright 2014 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package rx.swing.sources;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+/**
+ * Identifies a source by identity, without keeping it reachable.
+ * <p>
+ * A key equals another one while both still reference the same source, and itself even once the source
+ * has been collected, so the key polled from its queue removes its own map entry.
+ */
+/* package-private */final class SourceKey extends WeakReference<Object> {
+    private final int hash;
+
+    /**
+     * @param queue The queue the key is enqueued on once the source has been collected, or {@code null} for a lookup key.
+     */
+    SourceKey(Object source, ReferenceQueue<Object> queue) {
+        super(source, queue);
+        this.hash = System.identityHashCode(source);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof SourceKey)) {
+            return false;
+        }
+        final Object source = get();
+        return source != null && source == ((SourceKey) other).get();
+    }
+
+    /**
+     * A reusable lookup key, equal to the keys of the source it is set to. Whoever uses it must confine it
+     * to one thread at a time and clear it afterwards, so that it does not keep the source reachable.
+     */
+    static final class Probe {
+        private Object source;
+
+        void set(Object source) {
+            this.source = source;
+        }
+
+        void clear() {
+            source = null;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(source);
+        }
+
+        /**
+         * Only meant for {@link java.util.HashMap} lookups, which compare the probe to the stored keys.
+         */
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof SourceKey && source != null && source == ((SourceKey) other).get();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/**
+ * Copyright 2014 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package rx.swing.sources;
+
+/**
+ * Weak listener mode, which stops undisposed subscriptions from keeping their subscribers reachable.
+ * <p>
+ * The listener a source adds to a component or model captures the whole chain of operators and
+ * subscribers downstream. Models such as a {@link javax.swing.ListSelectionModel}, a
+ * {@link javax.swing.text.Document} or a {@link javax.swing.BoundedRangeModel} often outlive the views
+ * observing them, and a subscription that is never disposed then keeps the entire view reachable.
+ * <p>
+ * In weak listener mode, the listener only references that chain weakly, while the chain keeps itself
+ * alive through its subscription. Once whatever holds the {@link io.reactivex.rxjava3.disposables.Disposable}
+ * or the subscribers has been collected, the chain is collected too, and the listener is removed with
+ * the next event it receives, or the next time any source is subscribed to or disposed of on the Swing
+ * UI thread, whichever comes first. A subscription whose disposable is dropped right away may therefore
+ * stop receiving events at any time; keep it, e.g. in a field of the view, for as long as the events are
+ * needed.
+ * <p>
+ * The mode applies to listeners added afterwards; subscriptions sharing a listener with an earlier one
+ * get the mode of that listener. It defaults to the value of the system property {@value #PROPERTY}.
+ */
+public final class WeakListeners {
+    /**
+     * The system property enabling weak listener mode when set to {@code true}.
+     */
+    public static final String PROPERTY = "rx3.swing.weak-listeners";
+    private static volatile boolean enabled = Boolean.getBoolean(PROPERTY);
+
+    private WeakListeners() {
+    }
+
+    /**
+     * @param enabled Whether sources reference the subscribers of their listeners only weakly.
+     */
+    public static void setEnabled(boolean enabled) {
+        WeakListeners.enabled = enabled;
+    }
+
+    /**
+     * @return whether sources reference the subscribers of their listeners only weakly.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+}
@@ -16,9 +16,6 @@
 package rx.swing.sources;
 
 import io.reactivex.rxjava3.core.Observable;
-import io.reactivex.rxjava3.core.ObservableOnSubscribe;
-import io.reactivex.rxjava3.disposables.Disposable;
-import rx.schedulers.SwingScheduler;
 
 import java.awt.*;
 import java.awt.event.WindowEvent;
@@ -26,53 +23,52 @@ import java.awt.event.WindowListener;
 
 
 public final class WindowEventSource {
-    private WindowEventSource() {
-    }
+    private static final EventKind<Window, WindowListener, WindowEvent> WINDOW_EVENTS = EventKind.of(sink -> new WindowListener() {
+        @Override
+        public void windowOpened(WindowEvent windowEvent) {
+            sink.accept(windowEvent);
+        }
 
-    /**
-     * @see rx.observables.SwingObservable#fromWindowEventsOf(Window)
-     */
-    public static Observable<WindowEvent> fromWindowEventsOf(final Window window) {
-        return Observable.create((ObservableOnSubscribe<WindowEvent>) emitter -> {
-            final WindowListener windowListener = new WindowListener() {
-                @Override
-                public void windowOpened(WindowEvent windowEvent) {
-                    emitter.onNext(windowEvent);
-                }
+        @Override
+        public void windowClosing(WindowEvent windowEvent) {
+            sink.accept(windowEvent);
+        }
 
-                @Override
-                public void windowClosing(WindowEvent windowEvent) {
-                    emitter.onNext(windowEvent);
-                }
+        @Override
+        public void windowClosed(WindowEvent windowEvent) {
+            sink.accept(windowEvent);
+        }
 
-                @Override
-                public void windowClosed(WindowEvent windowEvent) {
-                    emitter.onNext(windowEvent);
-                }
+        @Override
+        public void windowIconified(WindowEvent windowEvent) {
+            sink.accept(windowEvent);
+        }
 
-                @Override
-                public void windowIconified(WindowEvent windowEvent) {
-                    emitter.onNext(windowEvent);
-                }
+        @Override
+        public void windowDeiconified(WindowEvent windowEvent) {
+            sink.accept(windowEvent);
+        }
 
-                @Override
-                public void windowDeiconified(WindowEvent windowEvent) {
-                    emitter.onNext(windowEvent);
-                }
+        @Override
+        public void windowActivated(WindowEvent windowEvent) {
+            sink.accept(windowEvent);
+        }
 
-                @Override
-                public void windowActivated(WindowEvent windowEvent) {
-                    emitter.onNext(windowEvent);
-                }
+        @Override
+        public void windowDeactivated(WindowEvent windowEvent) {
+            sink.accept(windowEvent);
+        }
+    }, Window::addWindowListener, Window::removeWindowListener,
+            // the mask also selects the focus and state events, which a WindowListener does not get
+            AWTEvent.WINDOW_EVENT_MASK, WindowEvent.WINDOW_OPENED, WindowEvent.WINDOW_DEACTIVATED);
 
-                @Override
-                public void windowDeactivated(WindowEvent windowEvent) {
-                    emitter.onNext(windowEvent);
-                }
-            };
+    private WindowEventSource() {
+    }
 
-            window.addWindowListener(windowListener);
-            emitter.setDisposable(Disposable.fromAction(() -> window.removeWindowListener(windowListener)));
-        }).subscribeOn(SwingScheduler.getInstance()).unsubscribeOn(SwingScheduler.getInstance());
+    /**
+     * @see rx.observables.SwingObservable#fromWindowEventsOf(Window)
+     */
+    public static Observable<WindowEvent> fromWindowEventsOf(final Window window) {
+        return SharedListeners.create(window, WINDOW_EVENTS);
     }
 }
@@ -0,0 +1,123 @@
+/**
+ * Copyright 2014 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package rx.observables;
+
+import io.reactivex.rxjava3.core.BackpressureOverflowStrategy;
+import io.reactivex.rxjava3.core.BackpressureStrategy;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.exceptions.MissingBackpressureException;
+import io.reactivex.rxjava3.subscribers.TestSubscriber;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseMotionListener;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SwingFlowableTest {
+    private final JPanel comp = new JPanel();
+
+    @Test
+    public void testDropDiscardsUnrequestedEvents() throws Exception {
+        TestSubscriber<MouseEvent> subscriber = subscribe(BackpressureStrategy.DROP, 1);
+        MouseEvent first = moveTo(1);
+        moveTo(2);
+        moveTo(3);
+        subscriber.assertValues(first);
+
+        subscriber.request(1);
+        MouseEvent fourth = moveTo(4);
+        subscriber.assertValues(first, fourth);
+        subscriber.cancel();
+    }
+
+    @Test
+    public void testLatestKeepsOnlyTheLastUnrequestedEvent() throws Exception {
+        TestSubscriber<MouseEvent> subscriber = subscribe(BackpressureStrategy.LATEST, 0);
+        moveTo(1);
+        moveTo(2);
+        MouseEvent third = moveTo(3);
+        subscriber.assertNoValues();
+
+        subscriber.request(5);
+        subscriber.assertValues(third);
+        subscriber.cancel();
+    }
+
+    @Test
+    public void testBufferIsBounded() throws Exception {
+        TestSubscriber<MouseEvent> subscriber = subscribe(BackpressureStrategy.BUFFER, 0);
+        for (int i = 0; i <= Flowable.bufferSize(); i++) {
+            moveTo(i);
+        }
+        subscriber.assertError(MissingBackpressureException.class);
+    }
+
+    @Test
+    public void testErrorSignalsTheFirstUnrequestedEvent() throws Exception {
+        TestSubscriber<MouseEvent> subscriber = subscribe(BackpressureStrategy.ERROR, 1);
+        moveTo(1);
+        subscriber.assertNoErrors();
+        moveTo(2);
+        subscriber.assertError(MissingBackpressureException.class);
+    }
+
+    @Test
+    public void testBufferWithCapacityDropsTheOldestEvents() throws Exception {
+        TestSubscriber<MouseEvent> subscriber = subscribe(SwingFlowable.fromEvents(
+                SwingObservable.fromMouseMotionEvents(comp), 2, BackpressureOverflowStrategy.DROP_OLDEST), 0);
+        moveTo(1);
+        MouseEvent second = moveTo(2);
+        MouseEvent third = moveTo(3);
+        subscriber.assertNoValues();
+
+        subscriber.request(5);
+        subscriber.assertValues(second, third);
+        subscriber.assertNoErrors();
+        subscriber.cancel();
+    }
+
+    private TestSubscriber<MouseEvent> subscribe(BackpressureStrategy strategy, long initialRequest) throws Exception {
+        return subscribe(SwingFlowable.fromMouseMotionEvents(comp, strategy), initialRequest);
+    }
+
+    private TestSubscriber<MouseEvent> subscribe(Flowable<MouseEvent> events, long initialRequest) throws Exception {
+        final AtomicReference<TestSubscriber<MouseEvent>> subscriber = new AtomicReference<>();
+        // subscribed on the EDT, where the listener is added right away
+        SwingUtilities.invokeAndWait(() -> subscriber.set(events.test(initialRequest)));
+        assertEquals(1, onEventDispatchThread(() -> comp.getMouseMotionListeners().length));
+        return subscriber.get();
+    }
+
+    private MouseEvent moveTo(int x) throws Exception {
+        final MouseEvent event = new MouseEvent(comp, MouseEvent.MOUSE_MOVED, 1L, 0, x, 0, 0, false);
+        SwingUtilities.invokeAndWait(() -> {
+            for (MouseMotionListener listener : comp.getMouseMotionListeners()) {
+                listener.mouseMoved(event);
+            }
+        });
+        return event;
+    }
+
+    private static int onEventDispatchThread(IntSupplier supplier) throws Exception {
+        final int[] result = new int[1];
+        SwingUtilities.invokeAndWait(() -> result[0] = supplier.getAsInt());
+        return result[0];
+    }
+}
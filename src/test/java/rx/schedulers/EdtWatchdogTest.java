@@ -0,0 +1,79 @@
+/**
+ * Copyright 2014 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package rx.schedulers;
+
+import io.reactivex.rxjava3.observers.TestObserver;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class EdtWatchdogTest {
+
+    @Test
+    public void testReportsStallsWithTheStackOfTheEventDispatchThread() throws Exception {
+        // other stalls, like the start of the test run, are not of interest, and neither are stalls before
+        // the watchdog saw the EDT for the first time, which carry no samples
+        final TestObserver<EdtStall> observer = EdtWatchdog.stalls(50, TimeUnit.MILLISECONDS)
+                .filter(stall -> stall.getDuration(TimeUnit.MILLISECONDS) >= 200 && stall.getSampleCount() > 0)
+                .test();
+        try {
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(15);
+            while (observer.values().isEmpty()) {
+                assertTrue(System.nanoTime() < deadline, "no stall with samples was reported within 15 seconds");
+                EventQueue.invokeAndWait(EdtWatchdogTest::stallTheEventDispatchThread);
+                // the report follows once the heartbeat queued behind the stall has run, waits 5 seconds at most
+                observer.awaitCount(1);
+            }
+            observer.assertNoErrors();
+            final EdtStall stall = observer.values().get(0);
+
+            final List<StackTraceElement> mostFrequent = stall.getStacks().keySet().iterator().next();
+            assertTrue(mostFrequent.stream().anyMatch(element -> element.getMethodName().equals("stallTheEventDispatchThread")), stall.toString());
+        } finally {
+            observer.dispose();
+        }
+    }
+
+    @Test
+    public void testReportsNothingWhileTheEventDispatchThreadIsResponsive() throws Exception {
+        // a threshold well above the hiccups of a loaded machine
+        final TestObserver<EdtStall> observer = EdtWatchdog.stalls(1, TimeUnit.SECONDS).test();
+        final long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(1500);
+        while (System.nanoTime() < end) {
+            EventQueue.invokeAndWait(() -> {
+            });
+            Thread.sleep(10);
+        }
+        observer.dispose();
+        observer.assertNoValues();
+    }
+
+    @Test
+    public void testInvalidThreshold() {
+        assertThrows(IllegalArgumentException.class, () -> EdtWatchdog.stalls(0, TimeUnit.MILLISECONDS));
+    }
+
+    private static void stallTheEventDispatchThread() {
+        final long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(300);
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/**
+ * Copyright 2014 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package rx.schedulers;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class SwingDrainLoopTest {
+    private SwingDrainLoop loop;
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        if (loop != null) {
+            loop.shutdown();
+        }
+    }
+
+    @Test
+    public void testDedicatedThreadRunsAllActionsOnOneThreadInOrder() throws Exception {
+        loop = new SwingDrainLoop(true);
+        final int producers = 4;
+        final int count = 10000;
+        final CountDownLatch latch = new CountDownLatch(producers * count);
+        final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        final List<List<Integer>> executed = new ArrayList<>();
+        final List<String> violations = Collections.synchronizedList(new ArrayList<>());
+
+        for (int p = 0; p < producers; p++) {
+            final List<Integer> values = new ArrayList<>();
+            executed.add(values);
+            new Thread(() -> {
+                for (int i = 0; i < count; i++) {
+                    final int value = i;
+                    loop.enqueue(SwingDrainLoop.NORMAL, null, () -> {
+                        threads.add(Thread.currentThread());
+                        if (SwingUtilities.isEventDispatchThread() || !loop.isDrainThread()) {
+                            violations.add("ran on " + Thread.currentThread());
+                        }
+                        values.add(value);
+                        latch.countDown();
+                    });
+                }
+            }).start();
+        }
+
+        if (!latch.await(5000, TimeUnit.MILLISECONDS)) {
+            fail("timed out waiting for tasks to execute");
+        }
+        assertEquals(1, threads.size());
+        assertEquals(Collections.emptyList(), violations);
+        assertFalse(loop.isDrainThread());
+        for (List<Integer> values : executed) {
+            assertEquals(count, values.size());
+            for (int i = 0; i < count; i++) {
+                assertEquals(i, values.get(i).intValue());
+            }
+        }
+    }
+
+    @Test
+    public void testDedicatedThreadSurvivesFailingActions() throws Exception {
+        loop = new SwingDrainLoop(true);
+        final CountDownLatch latch = new CountDownLatch(1);
+        final CountDownLatch failed = new CountDownLatch(1);
+
+        loop.enqueue(SwingDrainLoop.NORMAL, null, () -> Thread.currentThread().setUncaughtExceptionHandler((t, e) -> failed.countDown()));
+        loop.enqueue(SwingDrainLoop.NORMAL, null, () -> {
+            throw new IllegalStateException("failing action");
+        });
+        loop.enqueue(SwingDrainLoop.NORMAL, null, latch::countDown);
+
+        assertTrue(failed.await(5000, TimeUnit.MILLISECONDS), "the failure was not reported");
+        assertTrue(latch.await(5000, TimeUnit.MILLISECONDS), "the loop stopped after the failure");
+    }
+
+    @Test
+    public void testOwnerCountsItsQueuedActions() {
+        final SwingTaskQueue queue = new SwingTaskQueue();
+        final SwingTaskQueue.Owner owner = new SwingTaskQueue.Owner();
+        final AtomicInteger executed = new AtomicInteger();
+        assertFalse(owner.hasQueued());
+
+        queue.offer(owner, executed::incrementAndGet);
+        queue.offer(owner, executed::incrementAndGet);
+        queue.offer(null, executed::incrementAndGet);
+        assertTrue(owner.hasQueued());
+
+        queue.execute(queue.poll());
+        assertTrue(owner.hasQueued());
+        queue.purge(owner);
+        assertFalse(owner.hasQueued());
+
+        assertSame(SwingTaskQueue.DISPOSED, queue.poll());
+        queue.execute(queue.poll());
+        assertNull(queue.poll());
+        assertEquals(2, executed.get());
+    }
+
+    @Test
+    public void testDedicatedThreadHasPendingEventsWhileActionsArePosted() throws Exception {
+        loop = new SwingDrainLoop(true);
+        final List<Boolean> pending = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch latch = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        loop.enqueue(SwingDrainLoop.NORMAL, null, () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            pending.add(loop.hasPendingEvents());
+        });
+        loop.post(() -> {
+            pending.add(loop.hasPendingEvents());
+            latch.countDown();
+        });
+        release.countDown();
+
+        assertTrue(latch.await(5000, TimeUnit.MILLISECONDS));
+        assertEquals(List.of(true, false), pending);
+    }
+
+    @Test
+    public void testDedicatedThreadRunsPostedActionsInFifoOrderWithDrains() throws Exception {
+        loop = new SwingDrainLoop(true);
+        final List<String> order = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch latch = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        loop.post(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            order.add("first posted");
+        });
+        loop.enqueue(SwingDrainLoop.INPUT, null, () -> order.add("input"));
+        loop.enqueue(SwingDrainLoop.BACKGROUND, null, () -> order.add("background"));
+        loop.post(() -> {
+            order.add("second posted");
+            latch.countDown();
+        });
+        release.countDown();
+
+        assertTrue(latch.await(5000, TimeUnit.MILLISECONDS));
+        assertEquals(List.of("first posted", "input", "background", "second posted"), order);
+    }
+}
@@ -0,0 +1,116 @@
+/**
+ * Copyright 2014 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package rx.schedulers;
+
+import io.reactivex.rxjava3.core.Scheduler.Worker;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public final class SwingFrameSchedulerTest {
+
+    @Test
+    public void testActionsOfOneFrameRunInASingleEvent() throws Exception {
+        final Worker inner = SwingFrameScheduler.create(60).createWorker();
+
+        final int count = 100;
+        final CountDownLatch latch = new CountDownLatch(count);
+        final List<AWTEvent> events = new ArrayList<>();
+        final AWTEvent[] schedulingEvent = new AWTEvent[1];
+
+        EventQueue.invokeAndWait(() -> {
+            schedulingEvent[0] = EventQueue.getCurrentEvent();
+            for (int i = 0; i < count; i++) {
+                inner.schedule(() -> {
+                    assertTrue(SwingUtilities.isEventDispatchThread());
+                    events.add(EventQueue.getCurrentEvent());
+                    latch.countDown();
+                });
+            }
+            assertTrue(events.isEmpty());
+        });
+
+        if (!latch.await(5000, TimeUnit.MILLISECONDS)) {
+            fail("timed out waiting for tasks to execute");
+        }
+
+        assertEquals(count, events.size());
+        assertNotSame(schedulingEvent[0], events.get(0));
+        for (AWTEvent event : events) {
+            assertSame(events.get(0), event);
+        }
+        inner.dispose();
+    }
+
+    @Test
+    public void testActionsFromConcurrentProducersAllRun() throws Exception {
+        final Worker inner = SwingFrameScheduler.create(120).createWorker();
+
+        final int producers = 8;
+        final int perProducer = 5000;
+        final AtomicInteger executed = new AtomicInteger();
+        final CountDownLatch latch = new CountDownLatch(producers * perProducer);
+        final Runnable action = () -> {
+            executed.incrementAndGet();
+            latch.countDown();
+        };
+        for (int p = 0; p < producers; p++) {
+            new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    inner.schedule(action);
+                }
+            }).start();
+        }
+
+        if (!latch.await(10000, TimeUnit.MILLISECONDS)) {
+            fail("timed out waiting for tasks to execute, " + executed.get() + " ran");
+        }
+        assertEquals(producers * perProducer, executed.get());
+        inner.dispose();
+    }
+
+    @Test
+    public void testDisposedWorkerDropsBufferedAndDelayedActions() throws Exception {
+        final Worker inner = SwingFrameScheduler.create(30).createWorker();
+        final Runnable action = mock(Runnable.class);
+
+        EventQueue.invokeAndWait(() -> {
+            inner.schedule(action);
+            inner.schedule(action, 10, TimeUnit.MILLISECONDS);
+            inner.dispose();
+        });
+
+        Thread.sleep(200);
+        EventQueue.invokeAndWait(() -> {
+        });
+        verify(action, never()).run();
+    }
+
+    @Test
+    public void testInvalidFrameRates() {
+        assertThrows(IllegalArgumentException.class, () -> SwingFrameScheduler.create(0));
+        assertThrows(IllegalArgumentException.class, () -> SwingFrameScheduler.create(1001));
+    }
+}
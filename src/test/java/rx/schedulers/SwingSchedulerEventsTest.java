@@ -0,0 +1,129 @@
+/**
+ * Copyright 2014 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package rx.schedulers;
+
+import io.reactivex.rxjava3.core.Scheduler.Worker;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class SwingSchedulerEventsTest {
+
+    @Test
+    public void testRecordsTheLifecycleOfQueuedActions() throws Exception {
+        final Path file = Files.createTempFile("swing-scheduler", ".jfr");
+        final Worker inner = SwingScheduler.getInstance().createWorker();
+        try (Recording recording = new Recording()) {
+            recording.enable("rx.swing.TaskSubmitted");
+            recording.enable("rx.swing.TaskStarted");
+            recording.enable("rx.swing.TaskFinished").withoutThreshold();
+            recording.start();
+            assertTrue(SwingSchedulerEvents.isEnabled());
+
+            final CountDownLatch latch = new CountDownLatch(2);
+            inner.schedule(() -> {
+                sleep(5);
+                latch.countDown();
+            });
+            inner.schedule(latch::countDown, 20, TimeUnit.MILLISECONDS);
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            EventQueue.invokeAndWait(() -> {
+            });
+
+            recording.stop();
+            recording.dump(file);
+        } finally {
+            inner.dispose();
+        }
+
+        final List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+        final String thread = Thread.currentThread().getName();
+
+        final List<RecordedEvent> submitted = named(events, "rx.swing.TaskSubmitted");
+        assertEquals(2, submitted.size());
+        assertTrue(submitted.stream().allMatch(e -> e.getThread().getJavaName().equals(thread)));
+        assertTrue(submitted.stream().anyMatch(e -> e.getDuration("delay").equals(Duration.ofMillis(20))));
+
+        assertEquals(2, named(events, "rx.swing.TaskStarted").size());
+
+        final List<RecordedEvent> finished = named(events, "rx.swing.TaskFinished");
+        assertEquals(2, finished.size());
+        assertTrue(finished.stream().allMatch(e -> e.getThread("submittingThread").getJavaName().equals(thread)));
+        assertTrue(finished.stream().anyMatch(e -> e.getDuration().compareTo(Duration.ofMillis(5)) >= 0));
+        assertTrue(finished.stream().anyMatch(e -> e.getDuration("delay").equals(Duration.ofMillis(20))));
+    }
+
+    @Test
+    public void testRecordsThePeriodicSubmissionOnce() throws Exception {
+        final Path file = Files.createTempFile("swing-scheduler", ".jfr");
+        final Worker inner = SwingScheduler.getInstance().createWorker();
+        try (Recording recording = new Recording()) {
+            recording.enable("rx.swing.TaskSubmitted");
+            recording.enable("rx.swing.TaskStarted");
+            recording.start();
+
+            final CountDownLatch latch = new CountDownLatch(3);
+            inner.schedulePeriodically(latch::countDown, 0, 10, TimeUnit.MILLISECONDS);
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            EventQueue.invokeAndWait(() -> {
+            });
+
+            recording.stop();
+            recording.dump(file);
+        } finally {
+            inner.dispose();
+        }
+
+        final List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+        final String thread = Thread.currentThread().getName();
+
+        assertEquals(1, named(events, "rx.swing.TaskSubmitted").size());
+        final List<RecordedEvent> started = named(events, "rx.swing.TaskStarted");
+        assertTrue(started.size() >= 3);
+        assertTrue(started.stream().allMatch(e -> e.getThread("submittingThread").getJavaName().equals(thread)));
+    }
+
+    @Test
+    public void testDisabledWithoutRecording() {
+        assertFalse(SwingSchedulerEvents.isEnabled());
+    }
+
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).collect(Collectors.toList());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
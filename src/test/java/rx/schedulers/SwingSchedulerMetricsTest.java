@@ -0,0 +1,156 @@
+/**
+ * Copyright 2014 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package rx.schedulers;
+
+import io.reactivex.rxjava3.core.Scheduler.Worker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.awt.*;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SwingSchedulerMetricsTest {
+
+    @AfterEach
+    public void tearDown() {
+        SwingSchedulerMetrics.disable();
+        SwingSchedulerMetrics.reset();
+        SwingSchedulerMetrics.setSlowTaskThreshold(16, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void testRecordsPendingTasksLatencyAndExecutionTime() throws Exception {
+        SwingSchedulerMetrics.enable();
+        SwingSchedulerMetrics.reset();
+        SwingSchedulerMetrics.setSlowTaskThreshold(2, TimeUnit.MILLISECONDS);
+        final Worker inner = SwingScheduler.getInstance().createWorker();
+
+        final CountDownLatch release = SwingSchedulerTest.blockEventDispatchThread();
+
+        inner.schedule(() -> {
+        });
+        inner.schedule(() -> {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertEquals(2, SwingSchedulerMetrics.getPendingTaskCount());
+        Thread.sleep(10);
+        release.countDown();
+        EventQueue.invokeAndWait(() -> {
+        });
+
+        assertEquals(0, SwingSchedulerMetrics.getPendingTaskCount());
+        final long[] latency = SwingSchedulerMetrics.getScheduleLatencyHistogram();
+        assertEquals(2, LongStream.of(latency).sum());
+        // both waited at least 10ms, i.e. in bucket 13 (8192us) or above
+        assertEquals(0, LongStream.of(latency).limit(13).sum());
+        assertEquals(2, LongStream.of(SwingSchedulerMetrics.getExecutionTimeHistogram()).sum());
+        assertEquals(1, SwingSchedulerMetrics.getSlowTaskCount());
+        inner.dispose();
+    }
+
+    @Test
+    public void testDisposedTasksAreNotTimed() throws Exception {
+        SwingSchedulerMetrics.enable();
+        SwingSchedulerMetrics.reset();
+        final Worker inner = SwingScheduler.getInstance().createWorker();
+        final Worker disposed = SwingScheduler.getInstance().createWorker();
+
+        final CountDownLatch release = SwingSchedulerTest.blockEventDispatchThread();
+
+        inner.schedule(() -> {
+        }).dispose();
+        disposed.schedule(() -> {
+        });
+        disposed.dispose();
+        inner.schedule(() -> {
+        });
+        release.countDown();
+        EventQueue.invokeAndWait(() -> {
+        });
+
+        assertEquals(0, SwingSchedulerMetrics.getPendingTaskCount());
+        assertEquals(1, LongStream.of(SwingSchedulerMetrics.getExecutionTimeHistogram()).sum());
+        inner.dispose();
+    }
+
+    @Test
+    public void testRecordsTheExecutionTimeOfInlineActions() throws Exception {
+        SwingSchedulerMetrics.enable();
+        SwingSchedulerMetrics.reset();
+        SwingSchedulerMetrics.setSlowTaskThreshold(2, TimeUnit.MILLISECONDS);
+        final Worker inner = SwingScheduler.getInstance().createWorker();
+
+        EventQueue.invokeAndWait(() -> inner.schedule(() -> {
+            // runs inline within the outer action and counts towards its time only
+            inner.schedule(() -> {
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }));
+
+        assertEquals(0, SwingSchedulerMetrics.getPendingTaskCount());
+        assertEquals(0, LongStream.of(SwingSchedulerMetrics.getScheduleLatencyHistogram()).sum());
+        assertEquals(1, LongStream.of(SwingSchedulerMetrics.getExecutionTimeHistogram()).sum());
+        assertEquals(1, SwingSchedulerMetrics.getSlowTaskCount());
+        inner.dispose();
+    }
+
+    @Test
+    public void testRecordsNothingWhileDisabled() throws Exception {
+        SwingSchedulerMetrics.reset();
+        final Worker inner = SwingScheduler.getInstance().createWorker();
+        final CountDownLatch latch = new CountDownLatch(1);
+        inner.schedule(latch::countDown);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+        assertEquals(0, LongStream.of(SwingSchedulerMetrics.getScheduleLatencyHistogram()).sum());
+        assertEquals(0, LongStream.of(SwingSchedulerMetrics.getExecutionTimeHistogram()).sum());
+        inner.dispose();
+    }
+
+    @Test
+    public void testExposesTheMetricsThroughJmx() throws Exception {
+        SwingSchedulerMetrics.enable();
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName name = new ObjectName(SwingSchedulerMetrics.OBJECT_NAME);
+
+        assertEquals(true, server.getAttribute(name, "Enabled"));
+        assertEquals(0L, server.getAttribute(name, "PendingTaskCount"));
+        assertEquals(SwingSchedulerMetrics.BUCKETS, ((long[]) server.getAttribute(name, "ExecutionTimeHistogram")).length);
+
+        server.setAttribute(name, new javax.management.Attribute("Enabled", false));
+        assertFalse(SwingSchedulerMetrics.isEnabled());
+    }
+
+    @Test
+    public void testInvalidSlowTaskThreshold() {
+        assertThrows(IllegalArgumentException.class, () -> SwingSchedulerMetrics.setSlowTaskThreshold(-1, TimeUnit.MILLISECONDS));
+    }
+}
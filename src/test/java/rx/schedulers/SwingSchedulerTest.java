@@ -16,15 +16,26 @@
 package rx.schedulers;
 
 import io.reactivex.rxjava3.core.Scheduler.Worker;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.plugins.RxJavaPlugins;
 import org.junit.jupiter.api.Test;
 import org.mockito.InOrder;
 
 import javax.swing.*;
 import java.awt.*;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 import static org.mockito.Mockito.*;
 
 
@@ -41,6 +52,25 @@ public final class SwingSchedulerTest {
         });
     }
 
+    /**
+     * Keeps the EDT busy until the returned latch is released, so that everything scheduled meanwhile
+     * queues up and is drained together afterwards.
+     */
+    static CountDownLatch blockEventDispatchThread() throws InterruptedException {
+        final CountDownLatch edtBlocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        EventQueue.invokeLater(() -> {
+            edtBlocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        edtBlocked.await();
+        return release;
+    }
+
     @Test
     public void testInvalidDelayValues() {
         final SwingScheduler scheduler = new SwingScheduler();
@@ -56,6 +86,7 @@ public final class SwingSchedulerTest {
 
         // TODO why does this exist?
         //assertThrows(IllegalArgumentException.class, () -> inner.schedulePeriodically(action, 100L, 1L + Integer.MAX_VALUE / 1000, TimeUnit.SECONDS));
+        inner.dispose();
     }
 
     @Test
@@ -131,4 +162,696 @@ public final class SwingSchedulerTest {
         inOrder.verify(thirdStepEnd, times(1)).run();
     }
 
+    @Test
+    public void testDisposingDelayedActionCancelsOnlyThatAction() throws Exception {
+        final SwingScheduler scheduler = new SwingScheduler();
+        final Worker inner = scheduler.createWorker();
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        final Runnable cancelledAction = mock(Runnable.class);
+        final Runnable keptAction = mock(Runnable.class);
+
+        final Disposable cancelled = inner.schedule(cancelledAction, 100, TimeUnit.MILLISECONDS);
+        final Disposable kept = inner.schedule(() -> {
+            keptAction.run();
+            latch.countDown();
+        }, 200, TimeUnit.MILLISECONDS);
+
+        cancelled.dispose();
+        assertTrue(cancelled.isDisposed());
+        assertFalse(kept.isDisposed());
+        assertFalse(inner.isDisposed());
+
+        if (!latch.await(5000, TimeUnit.MILLISECONDS)) {
+            fail("timed out waiting for tasks to execute");
+        }
+        waitForEmptyEventQueue();
+
+        verify(cancelledAction, never()).run();
+        verify(keptAction, times(1)).run();
+        inner.dispose();
+    }
+
+    @Test
+    public void testPeriodicDirectSchedulingStopsWhenDisposed() throws Exception {
+        final SwingScheduler scheduler = new SwingScheduler();
+
+        final CountDownLatch latch = new CountDownLatch(3);
+        final AtomicInteger runs = new AtomicInteger();
+        final Disposable periodic = scheduler.schedulePeriodicallyDirect(() -> {
+            assertTrue(SwingUtilities.isEventDispatchThread());
+            runs.incrementAndGet();
+            latch.countDown();
+        }, 0, 20, TimeUnit.MILLISECONDS);
+
+        if (!latch.await(5000, TimeUnit.MILLISECONDS)) {
+            fail("timed out waiting for tasks to execute");
+        }
+
+        final AtomicInteger runsWhenDisposed = new AtomicInteger();
+        EventQueue.invokeAndWait(() -> {
+            periodic.dispose();
+            runsWhenDisposed.set(runs.get());
+        });
+        assertTrue(periodic.isDisposed());
+
+        Thread.sleep(100);
+        waitForEmptyEventQueue();
+        assertEquals(runsWhenDisposed.get(), runs.get());
+    }
+
+    @Test
+    public void testPeriodicWorkerSchedulingStopsWhenTheWorkerIsDisposed() throws Exception {
+        final Worker inner = new SwingScheduler().createWorker();
+
+        final CountDownLatch latch = new CountDownLatch(3);
+        final AtomicInteger runs = new AtomicInteger();
+        final Disposable periodic = inner.schedulePeriodically(() -> {
+            runs.incrementAndGet();
+            latch.countDown();
+        }, 0, 20, TimeUnit.MILLISECONDS);
+
+        if (!latch.await(5000, TimeUnit.MILLISECONDS)) {
+            fail("timed out waiting for tasks to execute");
+        }
+
+        final AtomicInteger runsWhenDisposed = new AtomicInteger();
+        EventQueue.invokeAndWait(() -> {
+            inner.dispose();
+            runsWhenDisposed.set(runs.get());
+        });
+        assertTrue(periodic.isDisposed());
+
+        Thread.sleep(100);
+        waitForEmptyEventQueue();
+        assertEquals(runsWhenDisposed.get(), runs.get());
+    }
+
+    @Test
+    public void testPeriodicWorkerSchedulingWithoutAPeriodRunsOnceThroughTheScheduleHook() throws Exception {
+        final Worker inner = new SwingScheduler().createWorker();
+        final AtomicInteger hooked = new AtomicInteger();
+        final AtomicInteger runs = new AtomicInteger();
+        final CountDownLatch latch = new CountDownLatch(2);
+        RxJavaPlugins.setScheduleHandler(run -> {
+            hooked.incrementAndGet();
+            return run;
+        });
+        try {
+            inner.schedulePeriodically(() -> {
+                runs.incrementAndGet();
+                latch.countDown();
+            }, 0, 0, TimeUnit.MILLISECONDS);
+            inner.schedulePeriodically(() -> {
+                runs.incrementAndGet();
+                latch.countDown();
+            }, 1, -1, TimeUnit.MILLISECONDS);
+        } finally {
+            RxJavaPlugins.reset();
+        }
+
+        assertTrue(latch.await(5000, TimeUnit.MILLISECONDS), "timed out waiting for tasks to execute");
+        assertEquals(2, hooked.get());
+        Thread.sleep(50);
+        waitForEmptyEventQueue();
+        assertEquals(2, runs.get());
+        inner.dispose();
+    }
+
+    @Test
+    public void testPeriodicSchedulingSkipsTicksMissedWhileTheEventDispatchThreadIsBlocked() throws Exception {
+        final SwingScheduler scheduler = new SwingScheduler();
+        final long periodMillis = 100;
+        final List<Long> runTimes = new ArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(3);
+
+        final CountDownLatch release = blockEventDispatchThread();
+        final Disposable periodic = scheduler.schedulePeriodicallyDirect(() -> {
+            runTimes.add(System.nanoTime());
+            latch.countDown();
+        }, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+        // the ticks at 100, 200 and 300 ms come due while the EDT is blocked
+        Thread.sleep(periodMillis * 32 / 10);
+        release.countDown();
+
+        if (!latch.await(5000, TimeUnit.MILLISECONDS)) {
+            fail("timed out waiting for tasks to execute");
+        }
+        EventQueue.invokeAndWait(periodic::dispose);
+
+        // one late tick right after the EDT is free again, the next one on the nominal schedule at 400 ms
+        final long gapMillis = TimeUnit.NANOSECONDS.toMillis(runTimes.get(1) - runTimes.get(0));
+        assertTrue(gapMillis >= periodMillis / 4, "missed ticks ran in a burst, " + gapMillis + " ms apart");
+    }
+
+    @Test
+    public void testManyDelayedActionsRunExactlyOnceUnlessDisposed() throws Exception {
+        final SwingScheduler scheduler = new SwingScheduler();
+        final Worker inner = scheduler.createWorker();
+
+        final int count = 1000;
+        final AtomicIntegerArray runs = new AtomicIntegerArray(count);
+        final CountDownLatch latch = new CountDownLatch(count / 2);
+        final Disposable[] disposables = new Disposable[count];
+        // scheduling from within an EDT event makes sure no action can run before half of them are disposed
+        EventQueue.invokeAndWait(() -> {
+            for (int i = 0; i < count; i++) {
+                final int index = i;
+                disposables[i] = inner.schedule(() -> {
+                    assertTrue(SwingUtilities.isEventDispatchThread());
+                    runs.incrementAndGet(index);
+                    latch.countDown();
+                }, 1 + (i * 7) % 50, TimeUnit.MILLISECONDS);
+            }
+            for (int i = 1; i < count; i += 2) {
+                disposables[i].dispose();
+            }
+        });
+
+        if (!latch.await(5000, TimeUnit.MILLISECONDS)) {
+            fail("timed out waiting for tasks to execute");
+        }
+        Thread.sleep(100);
+        waitForEmptyEventQueue();
+
+        for (int i = 0; i < count; i++) {
+            assertEquals(i % 2 == 0 ? 1 : 0, runs.get(i), "runs of action " + i);
+        }
+        inner.dispose();
+    }
+
+    @Test
+    public void testActionsScheduledOffTheEventDispatchThreadRunInOrder() throws Exception {
+        final SwingScheduler scheduler = new SwingScheduler();
+        final Worker inner = scheduler.createWorker();
+
+        final int count = 10000;
+        final List<Integer> executed = new ArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(count);
+        final Thread producer = new Thread(() -> {
+            for (int i = 0; i < count; i++) {
+                final int value = i;
+                inner.schedule(() -> {
+                    assertTrue(SwingUtilities.isEventDispatchThread());
+                    executed.add(value);
+                    latch.countDown();
+                });
+            }
+        });
+        producer.start();
+
+        if (!latch.await(5000, TimeUnit.MILLISECONDS)) {
+            fail("timed out waiting for tasks to execute");
+        }
+        waitForEmptyEventQueue();
+
+        assertEquals(count, executed.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, executed.get(i));
+        }
+        inner.dispose();
+    }
+
+    @Test
+    public void testTrampolinedNestedActionsRunAfterTheCurrentAction() throws Exception {
+        final SwingScheduler scheduler = new SwingScheduler(true);
+        final Worker inner = scheduler.createWorker();
+
+        final Runnable firstStepStart = mock(Runnable.class);
+        final Runnable firstStepEnd = mock(Runnable.class);
+        final Runnable secondStepStart = mock(Runnable.class);
+        final Runnable secondStepEnd = mock(Runnable.class);
+
+        final Runnable firstAction = () -> {
+            firstStepStart.run();
+            firstStepEnd.run();
+        };
+        final Runnable secondAction = () -> {
+            secondStepStart.run();
+            inner.schedule(firstAction);
+            secondStepEnd.run();
+        };
+
+        InOrder inOrder = inOrder(firstStepStart, firstStepEnd, secondStepStart, secondStepEnd);
+
+        inner.schedule(secondAction);
+        waitForEmptyEventQueue();
+
+        inOrder.verify(secondStepStart, times(1)).run();
+        inOrder.verify(secondStepEnd, times(1)).run();
+        inOrder.verify(firstStepStart, times(1)).run();
+        inOrder.verify(firstStepEnd, times(1)).run();
+    }
+
+    @Test
+    public void testTrampolinedRecursiveSchedulingKeepsTheStackFlat() throws Exception {
+        final SwingScheduler scheduler = new SwingScheduler(true);
+        final Worker inner = scheduler.createWorker();
+
+        final int depth = 100000;
+        final AtomicInteger remaining = new AtomicInteger(depth);
+        final Runnable recursive = new Runnable() {
+            @Override
+            public void run() {
+                if (remaining.decrementAndGet() > 0) {
+                    inner.schedule(this);
+                }
+            }
+        };
+
+        EventQueue.invokeAndWait(() -> inner.schedule(recursive));
+
+        assertEquals(0, remaining.get());
+        inner.dispose();
+    }
+
+    @Test
+    public void testSubMillisecondDelaysAreHonouredInDeadlineOrder() throws Exception {
+        final SwingScheduler scheduler = new SwingScheduler();
+        final Worker inner = scheduler.createWorker();
+
+        // sub-millisecond parts, yet far enough apart that scheduling jitter cannot swap their deadlines
+        final long[] delaysMicros = {2700, 300, 3900, 1500};
+        final long[] deadlines = new long[delaysMicros.length];
+        final long[] runTimes = new long[delaysMicros.length];
+        final List<Integer> executed = new ArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(delaysMicros.length);
+
+        // the first delayed action of the test run starts the timing wheel, which must not skew the deadlines below
+        final CountDownLatch warmUp = new CountDownLatch(1);
+        inner.schedule(warmUp::countDown, 1, TimeUnit.MICROSECONDS);
+        if (!warmUp.await(5000, TimeUnit.MILLISECONDS)) {
+            fail("timed out waiting for tasks to execute");
+        }
+
+        EventQueue.invokeAndWait(() -> {
+            for (int i = 0; i < delaysMicros.length; i++) {
+                final int index = i;
+                final Runnable action = () -> {
+                    runTimes[index] = System.nanoTime();
+                    executed.add(index);
+                    latch.countDown();
+                };
+                deadlines[i] = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(delaysMicros[i]);
+                inner.schedule(action, delaysMicros[i], TimeUnit.MICROSECONDS);
+            }
+        });
+
+        if (!latch.await(5000, TimeUnit.MILLISECONDS)) {
+            fail("timed out waiting for tasks to execute");
+        }
+        waitForEmptyEventQueue();
+
+        assertEquals(delaysMicros.length, executed.size());
+        for (int i = 0; i < delaysMicros.length; i++) {
+            assertTrue(runTimes[i] >= deadlines[i], "action delayed by " + delaysMicros[i] + "us ran early");
+        }
+        for (int i = 1; i < executed.size(); i++) {
+            assertTrue(deadlines[executed.get(i - 1)] <= deadlines[executed.get(i)], "actions did not run in deadline order: " + executed + " " + Arrays.toString(deadlines));
+        }
+        inner.dispose();
+    }
+
+    @Test
+    public void testTimeBudgetYieldsToPendingEvents() throws Exception {
+        final SwingScheduler scheduler = new SwingScheduler();
+        final Worker inner = scheduler.createWorker();
+
+        final int count = 50;
+        final CountDownLatch latch = new CountDownLatch(count);
+        final AtomicInteger executedBeforeEvent = new AtomicInteger(-1);
+
+        SwingScheduler.setTimeBudget(5, TimeUnit.MILLISECONDS);
+        try {
+            assertEquals(5, SwingScheduler.getTimeBudget(TimeUnit.MILLISECONDS));
+            final CountDownLatch release = blockEventDispatchThread();
+
+            for (int i = 0; i < count; i++) {
+                inner.schedule(() -> {
+                    try {
+                        Thread.sleep(1);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    latch.countDown();
+                });
+            }
+            EventQueue.invokeLater(() -> executedBeforeEvent.set(count - (int) latch.getCount()));
+            release.countDown();
+
+            if (!latch.await(5000, TimeUnit.MILLISECONDS)) {
+                fail("timed out waiting for tasks to execute");
+            }
+            waitForEmptyEventQueue();
+        } finally {
+            SwingScheduler.setTimeBudget(0, TimeUnit.MILLISECONDS);
+        }
+
+        assertTrue(executedBeforeEvent.get() > 0, "no action ran before the event");
+        assertTrue(executedBeforeEvent.get() < count, "all actions ran before the event");
+        inner.dispose();
+    }
+
+    @Test
+    public void testHigherLanesDrainFirst() throws Exception {
+        final Worker background = SwingScheduler.background().createWorker();
+        final Worker normal = SwingScheduler.normal().createWorker();
+        final Worker input = SwingScheduler.input().createWorker();
+        assertSame(SwingScheduler.getInstance(), SwingScheduler.normal());
+
+        final List<String> order = new ArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(3);
+        final CountDownLatch release = blockEventDispatchThread();
+
+        background.schedule(() -> {
+            order.add("background");
+            latch.countDown();
+        });
+        normal.schedule(() -> {
+            order.add("normal");
+            latch.countDown();
+        });
+        input.schedule(() -> {
+            order.add("input");
+            latch.countDown();
+        });
+        release.countDown();
+
+        if (!latch.await(5000, TimeUnit.MILLISECONDS)) {
+            fail("timed out waiting for tasks to execute");
+        }
+        assertEquals(Arrays.asList("input", "normal", "background"), order);
+
+        background.dispose();
+        normal.dispose();
+        input.dispose();
+    }
+
+    @Test
+    public void testBackgroundActionsAreDeferredOnTheEventDispatchThread() throws Exception {
+        final Worker background = SwingScheduler.background().createWorker();
+        final List<String> order = new ArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        EventQueue.invokeAndWait(() -> {
+            background.schedule(() -> {
+                order.add("background");
+                latch.countDown();
+            });
+            order.add("caller");
+        });
+
+        if (!latch.await(5000, TimeUnit.MILLISECONDS)) {
+            fail("timed out waiting for tasks to execute");
+        }
+        assertEquals(Arrays.asList("caller", "background"), order);
+        background.dispose();
+    }
+
+    @Test
+    public void testIdleActionsWaitForPendingEvents() throws Exception {
+        final Worker idle = SwingScheduler.idle().createWorker();
+        final List<String> order = new ArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        EventQueue.invokeAndWait(() -> {
+            idle.schedule(() -> {
+                order.add("idle");
+                latch.countDown();
+            });
+            EventQueue.invokeLater(() -> EventQueue.invokeLater(() -> order.add("event")));
+        });
+
+        if (!latch.await(5000, TimeUnit.MILLISECONDS)) {
+            fail("timed out waiting for tasks to execute");
+        }
+        assertEquals(Arrays.asList("event", "idle"), order);
+        idle.dispose();
+    }
+
+    @Test
+    public void testDisposedIdleWorkerDropsPendingActions() throws Exception {
+        final Worker idle = SwingScheduler.idle().createWorker();
+        final AtomicInteger executed = new AtomicInteger();
+
+        EventQueue.invokeAndWait(() -> {
+            idle.schedule(executed::incrementAndGet);
+            idle.dispose();
+        });
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        final Worker other = SwingScheduler.idle().createWorker();
+        other.schedule(latch::countDown);
+        if (!latch.await(5000, TimeUnit.MILLISECONDS)) {
+            fail("timed out waiting for tasks to execute");
+        }
+        assertEquals(0, executed.get());
+        other.dispose();
+    }
+
+    @Test
+    public void testCoalescedActionsRunOnlyTheLatestPerKey() throws Exception {
+        final SwingScheduler scheduler = new SwingScheduler();
+        final List<String> executed = new ArrayList<>();
+        final CountDownLatch release = blockEventDispatchThread();
+
+        for (int i = 0; i < 100; i++) {
+            final int value = i;
+            scheduler.scheduleCoalesced("row", () -> executed.add("row=" + value));
+            scheduler.scheduleCoalesced("label", () -> executed.add("label=" + value));
+        }
+        scheduler.scheduleCoalesced("cancelled", () -> executed.add("cancelled")).dispose();
+        release.countDown();
+        waitForEmptyEventQueue();
+
+        assertEquals(Arrays.asList("row=99", "label=99"), executed);
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        scheduler.scheduleCoalesced("row", latch::countDown);
+        if (!latch.await(5000, TimeUnit.MILLISECONDS)) {
+            fail("the key was not free for scheduling again");
+        }
+    }
+
+    @Test
+    public void testSchedulingFromAnotherThreadAllocatesNothingPerAction() throws Exception {
+        final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean, "thread allocation counters are not available");
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled(), "thread allocation counters are disabled");
+
+        final SwingScheduler scheduler = new SwingScheduler();
+        final Worker inner = scheduler.createWorker();
+        final AtomicInteger executed = new AtomicInteger();
+        final Runnable action = executed::incrementAndGet;
+        final long threadId = Thread.currentThread().getId();
+        final int batch = 1000;
+        final int rounds = 10;
+
+        // warm up the node pool and the JIT
+        for (int round = 0; round < 50; round++) {
+            final CountDownLatch release = blockEventDispatchThread();
+            for (int i = 0; i < batch; i++) {
+                inner.schedule(action);
+            }
+            release.countDown();
+            waitForEmptyEventQueue();
+        }
+
+        long allocated = 0;
+        for (int round = 0; round < rounds; round++) {
+            // with the EDT blocked, each batch posts exactly one event to the AWT event queue
+            final CountDownLatch release = blockEventDispatchThread();
+            final long before = threads.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < batch; i++) {
+                inner.schedule(action);
+            }
+            allocated += threads.getThreadAllocatedBytes(threadId) - before;
+            release.countDown();
+            waitForEmptyEventQueue();
+        }
+
+        assertEquals((50 + rounds) * batch, executed.get());
+        // a single queue node takes more than 16 bytes, the allowance only covers posting one event per batch
+        assertTrue(allocated < rounds * 1024, "scheduling " + rounds * batch + " actions allocated " + allocated + " bytes");
+        inner.dispose();
+    }
+
+    @Test
+    public void testBurstDoesNotPinQueueNodesOnceDrained() throws Exception {
+        final Worker inner = new SwingScheduler().createWorker();
+        final AtomicInteger executed = new AtomicInteger();
+        final Runnable action = executed::incrementAndGet;
+        final int burst = 100_000;
+
+        final CountDownLatch release = blockEventDispatchThread();
+        for (int i = 0; i < burst; i++) {
+            inner.schedule(action);
+        }
+        release.countDown();
+        waitForEmptyEventQueue();
+
+        assertEquals(burst, executed.get());
+        // the free list and the stash of this thread hold at most one free list each
+        assertTrue(SwingTaskQueue.pooledNodes() <= 2 * SwingTaskQueue.MAX_FREE, SwingTaskQueue.pooledNodes() + " nodes are pooled");
+        inner.dispose();
+    }
+
+    @Test
+    public void testDisposedWorkerReleasesPendingActions() throws Exception {
+        final Worker inner = SwingScheduler.background().createWorker();
+        final Worker timer = SwingScheduler.background().createWorker();
+        final AtomicReference<WeakReference<Object>> queued = new AtomicReference<>();
+        final AtomicReference<WeakReference<Object>> delayed = new AtomicReference<>();
+        final AtomicInteger executed = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+
+        EventQueue.invokeAndWait(() -> {
+            // keeps the drain of the queued action waiting behind it
+            EventQueue.invokeLater(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            queued.set(scheduleCapturingPayload(inner, 0, executed));
+            inner.dispose();
+        });
+
+        delayed.set(scheduleCapturingPayload(timer, 1, executed));
+        timer.dispose();
+
+        try {
+            for (int i = 0; i < 100 && (queued.get().get() != null || delayed.get().get() != null); i++) {
+                System.gc();
+                Thread.sleep(10);
+            }
+            assertNull(queued.get().get(), "the queued action is still reachable");
+            assertNull(delayed.get().get(), "the delayed action is still reachable");
+        } finally {
+            release.countDown();
+        }
+        waitForEmptyEventQueue();
+        assertEquals(0, executed.get());
+    }
+
+    private static WeakReference<Object> scheduleCapturingPayload(Worker worker, long delayHours, AtomicInteger executed) {
+        final Object payload = new Object();
+        worker.schedule(() -> executed.addAndGet(payload.hashCode() | 1), delayHours, TimeUnit.HOURS);
+        return new WeakReference<>(payload);
+    }
+
+    @Test
+    public void testSchedulingOnADisposedWorkerReturnsADisposedDisposable() throws Exception {
+        final Worker inner = new SwingScheduler().createWorker();
+        final Runnable action = mock(Runnable.class);
+        inner.dispose();
+
+        assertTrue(inner.schedule(action, 1, TimeUnit.MILLISECONDS).isDisposed());
+        assertTrue(inner.schedulePeriodically(action, 1, 1, TimeUnit.MILLISECONDS).isDisposed());
+
+        Thread.sleep(20);
+        waitForEmptyEventQueue();
+        verify(action, never()).run();
+    }
+
+    @Test
+    public void testDirectSchedulingRunsOnTheEventDispatchThreadUnlessDisposed() throws Exception {
+        final SwingScheduler scheduler = new SwingScheduler();
+        final CountDownLatch latch = new CountDownLatch(2);
+        final AtomicInteger executed = new AtomicInteger();
+        final AtomicInteger offEventDispatchThread = new AtomicInteger();
+        final Runnable action = () -> {
+            if (!SwingUtilities.isEventDispatchThread()) {
+                offEventDispatchThread.incrementAndGet();
+            }
+            executed.incrementAndGet();
+            latch.countDown();
+        };
+
+        final CountDownLatch release = blockEventDispatchThread();
+        final Disposable now = scheduler.scheduleDirect(action);
+        final Disposable delayed = scheduler.scheduleDirect(action, 5, TimeUnit.MILLISECONDS);
+        scheduler.scheduleDirect(action).dispose();
+        scheduler.scheduleDirect(action, 5, TimeUnit.MILLISECONDS).dispose();
+        release.countDown();
+
+        if (!latch.await(5000, TimeUnit.MILLISECONDS)) {
+            fail("timed out waiting for tasks to execute");
+        }
+        Thread.sleep(20);
+        waitForEmptyEventQueue();
+        assertEquals(2, executed.get());
+        assertEquals(0, offEventDispatchThread.get());
+        assertTrue(now.isDisposed());
+        assertTrue(delayed.isDisposed());
+
+        final List<String> order = new ArrayList<>();
+        EventQueue.invokeAndWait(() -> {
+            scheduler.scheduleDirect(() -> order.add("direct"));
+            order.add("caller");
+        });
+        assertEquals(Arrays.asList("direct", "caller"), order);
+    }
+
+    @Test
+    public void testBulkSubmissionRunsInOneEventInOrder() throws Exception {
+        final SwingScheduler scheduler = new SwingScheduler();
+        final int count = 100;
+        final List<Integer> executed = new ArrayList<>();
+        final List<AWTEvent> events = new ArrayList<>();
+        final List<Runnable> actions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            final int value = i;
+            actions.add(() -> {
+                executed.add(value);
+                events.add(EventQueue.getCurrentEvent());
+            });
+        }
+
+        final Disposable batch = scheduler.scheduleAllDirect(actions);
+        waitForEmptyEventQueue();
+
+        assertEquals(count, executed.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, executed.get(i).intValue());
+            assertSame(events.get(0), events.get(i));
+        }
+        assertTrue(batch.isDisposed());
+    }
+
+    @Test
+    public void testBulkSubmissionIsDisposedWithItsWorker() throws Exception {
+        final SwingScheduler.SwingWorker inner = new SwingScheduler().createWorker();
+        final AtomicInteger executed = new AtomicInteger();
+        final Disposable batch = inner.scheduleAll(Arrays.asList(inner::dispose, executed::incrementAndGet, executed::incrementAndGet));
+
+        waitForEmptyEventQueue();
+        assertEquals(0, executed.get());
+        assertTrue(batch.isDisposed());
+    }
+
+    @Test
+    public void testBulkSubmissionCancelsWhatHasNotRunYet() throws Exception {
+        final SwingScheduler.SwingWorker inner = new SwingScheduler().createWorker();
+        final AtomicInteger executed = new AtomicInteger();
+        final List<Runnable> actions = new ArrayList<>();
+        actions.add(executed::incrementAndGet);
+        actions.add(inner::dispose);
+        actions.add(executed::incrementAndGet);
+
+        inner.scheduleAll(actions);
+        waitForEmptyEventQueue();
+        assertEquals(1, executed.get());
+
+        final SwingScheduler.SwingWorker other = new SwingScheduler().createWorker();
+        final CountDownLatch release = blockEventDispatchThread();
+        other.scheduleAll(Arrays.asList(executed::incrementAndGet, executed::incrementAndGet)).dispose();
+        release.countDown();
+        waitForEmptyEventQueue();
+        assertEquals(1, executed.get());
+        other.dispose();
+    }
+
 }
@@ -0,0 +1,91 @@
+/**
+ * Copyright 2014 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package rx.schedulers;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Scheduler.Worker;
+import io.reactivex.rxjava3.observers.TestObserver;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class SwingTestSchedulerTest {
+
+    @Test
+    public void testDelayedActionsRunOnTheEventDispatchThreadWhenTheClockIsAdvanced() {
+        final SwingTestScheduler scheduler = new SwingTestScheduler();
+        final Worker inner = scheduler.createWorker();
+        final List<String> executed = new ArrayList<>();
+
+        inner.schedule(() -> executed.add("late " + SwingUtilities.isEventDispatchThread()), 1, TimeUnit.HOURS);
+        inner.schedule(() -> executed.add("early " + SwingUtilities.isEventDispatchThread()), 10, TimeUnit.SECONDS);
+        assertTrue(executed.isEmpty());
+
+        scheduler.advanceTimeBy(10, TimeUnit.SECONDS);
+        assertEquals(Arrays.asList("early true"), executed);
+        assertEquals(10, scheduler.now(TimeUnit.SECONDS));
+
+        scheduler.advanceTimeTo(1, TimeUnit.HOURS);
+        assertEquals(Arrays.asList("early true", "late true"), executed);
+        inner.dispose();
+    }
+
+    @Test
+    public void testDebounceRunsOnVirtualTime() {
+        final SwingTestScheduler scheduler = new SwingTestScheduler();
+        final PublishSubject<String> input = PublishSubject.create();
+        final TestObserver<String> observer = input.debounce(300, TimeUnit.MILLISECONDS, scheduler).test();
+
+        input.onNext("a");
+        scheduler.advanceTimeBy(200, TimeUnit.MILLISECONDS);
+        input.onNext("ab");
+        scheduler.advanceTimeBy(200, TimeUnit.MILLISECONDS);
+        observer.assertNoValues();
+
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        observer.assertValue("ab");
+    }
+
+    @Test
+    public void testImmediateActionsWaitForTheClock() {
+        final SwingTestScheduler scheduler = new SwingTestScheduler();
+        final TestObserver<Integer> observer = Observable.just(1).observeOn(scheduler).test();
+
+        observer.assertNoValues();
+        scheduler.triggerActions();
+        observer.assertValue(1);
+    }
+
+    @Test
+    public void testExceptionsOfActionsAreRethrown() {
+        final SwingTestScheduler scheduler = new SwingTestScheduler();
+        final Worker inner = scheduler.createWorker();
+        inner.schedule(() -> {
+            throw new IllegalStateException("failing action");
+        }, 1, TimeUnit.SECONDS);
+
+        final IllegalStateException e = assertThrows(IllegalStateException.class, () -> scheduler.advanceTimeBy(1, TimeUnit.SECONDS));
+        assertEquals("failing action", e.getMessage());
+        inner.dispose();
+    }
+}
@@ -18,12 +18,17 @@ package rx.swing.sources;
 import io.reactivex.rxjava3.disposables.Disposable;
 import io.reactivex.rxjava3.functions.Action;
 import io.reactivex.rxjava3.functions.Consumer;
+import io.reactivex.rxjava3.observers.TestObserver;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
+import rx.schedulers.SwingTestScheduler;
 
 import javax.swing.*;
 import java.awt.event.ActionEvent;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 
 
@@ -67,4 +72,25 @@ public class AbstractButtonSourceTest {
             verify(complete, never()).run();
         }).awaitTerminal();
     }
+
+    @Test
+    public void testTimingOutWithoutActionOnVirtualTime() throws Throwable {
+        SwingTestHelper.create().runInEventDispatchThread(() -> {
+            final SwingTestScheduler scheduler = new SwingTestScheduler();
+            final JButton button = new JButton();
+            final TestObserver<ActionEvent> observer = AbstractButtonSource.fromActionOf(button)
+                    .timeout(5, TimeUnit.SECONDS, scheduler)
+                    .test();
+
+            scheduler.advanceTimeBy(4, TimeUnit.SECONDS);
+            button.doClick(0);
+            observer.assertValueCount(1);
+
+            scheduler.advanceTimeBy(4999, TimeUnit.MILLISECONDS);
+            observer.assertNoErrors();
+            scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+            observer.assertError(TimeoutException.class);
+            assertEquals(0, button.getActionListeners().length);
+        }).awaitTerminal();
+    }
 }
@@ -0,0 +1,282 @@
+/**
+ * Copyright 2014 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package rx.swing.sources;
+
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.functions.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.AWTEventListenerProxy;
+import java.awt.event.ComponentEvent;
+import java.awt.event.FocusEvent;
+import java.awt.event.MouseEvent;
+import java.awt.event.WindowEvent;
+import java.beans.PropertyChangeEvent;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class AwtEventDispatcherTest {
+    private final Component comp = new JPanel();
+    private final Component other = new JPanel();
+
+    @BeforeEach
+    public void enable() {
+        AwtEventDispatcher.setEnabled(true);
+    }
+
+    @AfterEach
+    public void disable() {
+        AwtEventDispatcher.setEnabled(false);
+    }
+
+    @Test
+    public void testEventsAreRoutedBySourceWithoutComponentListeners() throws Throwable {
+        SwingTestHelper.create().runInEventDispatchThread(() -> {
+            @SuppressWarnings("unchecked")
+            Consumer<ComponentEvent> action = mock(Consumer.class);
+            @SuppressWarnings("unchecked")
+            Consumer<ComponentEvent> otherAction = mock(Consumer.class);
+            int propertyChangeListeners = comp.getPropertyChangeListeners().length;
+
+            Disposable sub = ComponentEventSource.fromComponentEventsOf(comp).subscribe(action);
+            Disposable otherSub = ComponentEventSource.fromComponentEventsOf(other).subscribe(otherAction);
+            assertEquals(0, comp.getComponentListeners().length);
+            assertEquals(0, other.getComponentListeners().length);
+            assertEquals(propertyChangeListeners, comp.getPropertyChangeListeners().length);
+
+            ComponentEvent event = new ComponentEvent(comp, ComponentEvent.COMPONENT_RESIZED);
+            comp.dispatchEvent(event);
+            verify(action, times(1)).accept(event);
+            verify(otherAction, never()).accept(any());
+
+            sub.dispose();
+            comp.dispatchEvent(new ComponentEvent(comp, ComponentEvent.COMPONENT_MOVED));
+            verify(action, times(1)).accept(any());
+
+            otherSub.dispose();
+        }).awaitTerminal();
+    }
+
+    @Test
+    public void testSubscribingAndDisposingFireNoPropertyChange() throws Throwable {
+        SwingTestHelper.create().runInEventDispatchThread(() -> {
+            final List<PropertyChangeEvent> changes = new ArrayList<>();
+            comp.addPropertyChangeListener(changes::add);
+
+            Disposable component = ComponentEventSource.fromComponentEventsOf(comp).subscribe();
+            Disposable focus = FocusEventSource.fromFocusEventsOf(comp).subscribe();
+            component.dispose();
+            focus.dispose();
+
+            assertEquals(Collections.emptyList(), changes);
+        }).awaitTerminal();
+    }
+
+    @Test
+    public void testOnlyEventsOfTheObservedKindAreRouted() throws Throwable {
+        SwingTestHelper.create().runInEventDispatchThread(() -> {
+            @SuppressWarnings("unchecked")
+            Consumer<ComponentEvent> action = mock(Consumer.class);
+
+            Disposable sub = ComponentEventSource.fromComponentEventsOf(comp).subscribe(action);
+            assertEquals(0, comp.getComponentListeners().length);
+
+            comp.dispatchEvent(new FocusEvent(comp, FocusEvent.FOCUS_GAINED));
+            verify(action, never()).accept(any());
+
+            ComponentEvent event = new ComponentEvent(comp, ComponentEvent.COMPONENT_RESIZED);
+            comp.dispatchEvent(event);
+            verify(action, times(1)).accept(event);
+
+            sub.dispose();
+        }).awaitTerminal();
+    }
+
+    @Test
+    public void testSubscriptionsMadeBeforeSwitchingKeepTheirListeners() throws Throwable {
+        SwingTestHelper.create().runInEventDispatchThread(() -> {
+            AwtEventDispatcher.setEnabled(false);
+            Disposable sub = ComponentEventSource.fromComponentEventsOf(comp).subscribe();
+            assertEquals(1, comp.getComponentListeners().length);
+
+            AwtEventDispatcher.setEnabled(true);
+            Disposable shared = ComponentEventSource.fromComponentEventsOf(comp).subscribe();
+            assertEquals(1, comp.getComponentListeners().length);
+
+            sub.dispose();
+            shared.dispose();
+            assertEquals(0, comp.getComponentListeners().length);
+        }).awaitTerminal();
+    }
+
+    @Test
+    public void testUndisposedSubscriptionDoesNotKeepTheSourceReachable() throws Throwable {
+        final WeakReference<Component> source = subscribeAndForget();
+        assertEquals(1, installedRoutes());
+
+        WeakListenersTest.awaitCollection("the source was not collected", () -> source.get() == null);
+        // the route of the collected source is dropped with the next change of the routes
+        WeakListenersTest.awaitCollection("the route of the collected source was not dropped", () -> {
+            SwingTestHelper.create().runInEventDispatchThread(() ->
+                    ComponentEventSource.fromComponentEventsOf(comp).subscribe().dispose()
+            ).awaitTerminal();
+            return installedRoutes() == 0;
+        });
+    }
+
+    @Test
+    public void testSourceKeepsAnUndisposedSubscriptionReceivingEvents() throws Throwable {
+        final AtomicInteger events = new AtomicInteger();
+        SwingTestHelper.create().runInEventDispatchThread(() ->
+                ComponentEventSource.fromComponentEventsOf(comp).subscribe(event -> events.incrementAndGet())
+        ).awaitTerminal();
+
+        collectGarbage();
+        SwingTestHelper.create().runInEventDispatchThread(() -> {
+            comp.dispatchEvent(new ComponentEvent(comp, ComponentEvent.COMPONENT_RESIZED));
+            assertEquals(1, events.get());
+        }).awaitTerminal();
+    }
+
+    @Test
+    public void testPlainAwtSourceKeepsAnUndisposedSubscriptionReceivingEvents() throws Throwable {
+        final Component canvas = new Canvas();
+        final AtomicInteger events = new AtomicInteger();
+        final AtomicReference<WeakReference<Disposable>> sub = new AtomicReference<>();
+        SwingTestHelper.create().runInEventDispatchThread(() ->
+                sub.set(new WeakReference<>(ComponentEventSource.fromComponentEventsOf(canvas).subscribe(event -> events.incrementAndGet())))
+        ).awaitTerminal();
+
+        collectGarbage();
+        SwingTestHelper.create().runInEventDispatchThread(() -> {
+            canvas.dispatchEvent(new ComponentEvent(canvas, ComponentEvent.COMPONENT_RESIZED));
+            assertEquals(1, events.get());
+            // held by the route until disposed, which also leaves no route installed for the later tests
+            sub.get().get().dispose();
+        }).awaitTerminal();
+    }
+
+    @Test
+    public void testWindowSourceOnlyEmitsTheEventsOfAWindowListener() throws Throwable {
+        assumeFalse(GraphicsEnvironment.isHeadless(), "windows need a display");
+        SwingTestHelper.create().runInEventDispatchThread(() -> {
+            final JFrame owner = new JFrame();
+            final Window window = new Window(owner);
+            @SuppressWarnings("unchecked")
+            Consumer<WindowEvent> action = mock(Consumer.class);
+
+            Disposable sub = WindowEventSource.fromWindowEventsOf(window).subscribe(action);
+            assertEquals(0, window.getWindowListeners().length);
+
+            // selected by the window event mask too, but never passed to a WindowListener
+            window.dispatchEvent(new WindowEvent(window, WindowEvent.WINDOW_STATE_CHANGED, Frame.NORMAL, Frame.ICONIFIED));
+            verify(action, never()).accept(any());
+
+            WindowEvent event = new WindowEvent(window, WindowEvent.WINDOW_CLOSED);
+            window.dispatchEvent(event);
+            verify(action, times(1)).accept(event);
+
+            sub.dispose();
+            owner.dispose();
+        }).awaitTerminal();
+    }
+
+    @Test
+    public void testMouseSourcesKeepListenersOfTheirOwn() throws Throwable {
+        SwingTestHelper.create().runInEventDispatchThread(() -> {
+            Disposable mouse = MouseEventSource.fromMouseEventsOf(comp).subscribe();
+            Disposable motion = MouseEventSource.fromMouseMotionEventsOf(comp).subscribe();
+            Disposable wheel = MouseEventSource.fromMouseWheelEvents(comp).subscribe();
+            assertEquals(1, comp.getMouseListeners().length);
+            assertEquals(1, comp.getMouseMotionListeners().length);
+            assertEquals(1, comp.getMouseWheelListeners().length);
+
+            mouse.dispose();
+            motion.dispose();
+            wheel.dispose();
+            assertEquals(0, comp.getMouseListeners().length);
+        }).awaitTerminal();
+    }
+
+    @Test
+    public void testPanelInARealizedFrameIsTheTargetOfItsMouseEvents() throws Exception {
+        assumeFalse(GraphicsEnvironment.isHeadless(), "needs a display");
+        final JFrame frame = new JFrame();
+        final JPanel panel = new JPanel();
+        final BlockingQueue<MouseEvent> received = new LinkedBlockingQueue<>();
+        SwingUtilities.invokeAndWait(() -> {
+            frame.getContentPane().add(panel);
+            frame.setSize(200, 200);
+            frame.setVisible(true);
+        });
+        try {
+            final Disposable sub = MouseEventSource.fromMouseEventsOf(panel).subscribe(received::add);
+            final Point[] location = new Point[1];
+            SwingUtilities.invokeAndWait(() -> location[0] = SwingUtilities.convertPoint(panel, 10, 10, frame));
+
+            // delivered to the frame like a native event, so that AWT picks the lightweight target itself
+            Toolkit.getDefaultToolkit().getSystemEventQueue().postEvent(
+                    new MouseEvent(frame, MouseEvent.MOUSE_PRESSED, System.currentTimeMillis(), 0, location[0].x, location[0].y, 1, false, MouseEvent.BUTTON1));
+            final MouseEvent event = received.poll(5, TimeUnit.SECONDS);
+            assertNotNull(event);
+            assertSame(panel, event.getSource());
+            sub.dispose();
+        } finally {
+            SwingUtilities.invokeAndWait(frame::dispose);
+        }
+    }
+
+    /**
+     * Returns once a garbage collection has cleared a weakly referenced object, or fails after 10 seconds.
+     */
+    private static void collectGarbage() throws Throwable {
+        final WeakReference<Object> canary = new WeakReference<>(new Object());
+        WeakListenersTest.awaitCollection("no garbage collection ran", () -> canary.get() == null);
+    }
+
+    private static long installedRoutes() {
+        return Arrays.stream(Toolkit.getDefaultToolkit().getAWTEventListeners(AWTEvent.COMPONENT_EVENT_MASK))
+                .map(listener -> ((AWTEventListenerProxy) listener).getListener())
+                .filter(listener -> listener.getClass().getEnclosingClass() == AwtEventDispatcher.class)
+                .count();
+    }
+
+    private WeakReference<Component> subscribeAndForget() throws Throwable {
+        final Component panel = new JPanel();
+        SwingTestHelper.create().runInEventDispatchThread(() ->
+                // like most subscribers, it captures the component it observes
+                ComponentEventSource.fromComponentEventsOf(panel).subscribe(event -> panel.repaint())
+        ).awaitTerminal();
+        return new WeakReference<>(panel);
+    }
+}
@@ -18,11 +18,13 @@ package rx.swing.sources;
 import io.reactivex.rxjava3.disposables.Disposable;
 import io.reactivex.rxjava3.functions.Action;
 import io.reactivex.rxjava3.functions.Consumer;
+import io.reactivex.rxjava3.observers.TestObserver;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatcher;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mockito;
 import rx.observables.SwingObservable;
+import rx.schedulers.SwingTestScheduler;
 
 import javax.swing.*;
 import javax.swing.event.DocumentEvent;
@@ -34,6 +36,7 @@ import javax.swing.text.html.HTMLDocument;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import static org.mockito.Mockito.*;
 
@@ -141,4 +144,25 @@ public class DocumentEventSourceTest {
         }).awaitTerminal();
     }
 
+    @Test
+    public void testDebouncingDocumentEventsOnVirtualTime() throws Throwable {
+        SwingTestHelper.create().runInEventDispatchThread(() -> {
+            final SwingTestScheduler scheduler = new SwingTestScheduler();
+            final Document doc = new JTextField().getDocument();
+            final TestObserver<String> observer = DocumentEventSource.fromDocumentEventsOf(doc)
+                    .debounce(300, TimeUnit.MILLISECONDS, scheduler)
+                    .map(event -> event.getDocument().getText(0, event.getDocument().getLength()))
+                    .test();
+
+            insertStringToDocument(doc, 0, "a");
+            scheduler.advanceTimeBy(200, TimeUnit.MILLISECONDS);
+            insertStringToDocument(doc, 1, "b");
+            scheduler.advanceTimeBy(299, TimeUnit.MILLISECONDS);
+            observer.assertNoValues();
+
+            scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+            observer.assertValue("ab");
+            observer.dispose();
+        }).awaitTerminal();
+    }
 }
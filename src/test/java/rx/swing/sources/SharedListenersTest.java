@@ -0,0 +1,151 @@
+/**
+ * Copyright 2014 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package rx.swing.sources;
+
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.functions.Consumer;
+import io.reactivex.rxjava3.observers.TestObserver;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseListener;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class SharedListenersTest {
+    private final Component comp = new JPanel();
+
+    @Test
+    public void testSubscriptionsShareOneListener() throws Throwable {
+        SwingTestHelper.create().runInEventDispatchThread(() -> {
+            @SuppressWarnings("unchecked")
+            Consumer<MouseEvent> first = mock(Consumer.class);
+            @SuppressWarnings("unchecked")
+            Consumer<MouseEvent> second = mock(Consumer.class);
+
+            final int initialListeners = comp.getMouseListeners().length;
+            Disposable firstSub = MouseEventSource.fromMouseEventsOf(comp).subscribe(first);
+            Disposable secondSub = MouseEventSource.fromMouseEventsOf(comp).subscribe(second);
+            assertEquals(initialListeners + 1, comp.getMouseListeners().length);
+
+            MouseEvent event = mouseEvent();
+            fireMouseEvent(event);
+            verify(first, times(1)).accept(event);
+            verify(second, times(1)).accept(event);
+
+            firstSub.dispose();
+            assertEquals(initialListeners + 1, comp.getMouseListeners().length);
+            fireMouseEvent(event);
+            verify(first, times(1)).accept(event);
+            verify(second, times(2)).accept(event);
+
+            secondSub.dispose();
+            assertEquals(initialListeners, comp.getMouseListeners().length);
+        }).awaitTerminal();
+    }
+
+    @Test
+    public void testKindsOfOneSourceAreSharedSeparately() throws Throwable {
+        SwingTestHelper.create().runInEventDispatchThread(() -> {
+            final int initialMouseListeners = comp.getMouseListeners().length;
+            final int initialMotionListeners = comp.getMouseMotionListeners().length;
+
+            Disposable mouseSub = MouseEventSource.fromMouseEventsOf(comp).subscribe();
+            Disposable motionSub = MouseEventSource.fromMouseMotionEventsOf(comp).subscribe();
+            assertEquals(initialMouseListeners + 1, comp.getMouseListeners().length);
+            assertEquals(initialMotionListeners + 1, comp.getMouseMotionListeners().length);
+
+            mouseSub.dispose();
+            assertEquals(initialMouseListeners, comp.getMouseListeners().length);
+            assertEquals(initialMotionListeners + 1, comp.getMouseMotionListeners().length);
+
+            motionSub.dispose();
+            assertEquals(initialMotionListeners, comp.getMouseMotionListeners().length);
+
+            // a new subscription after the last one was disposed adds a fresh listener
+            Disposable again = MouseEventSource.fromMouseEventsOf(comp).subscribe();
+            assertEquals(initialMouseListeners + 1, comp.getMouseListeners().length);
+            again.dispose();
+            assertEquals(initialMouseListeners, comp.getMouseListeners().length);
+        }).awaitTerminal();
+    }
+
+    @Test
+    public void testSubscriptionOffTheEventDispatchThreadHopsToIt() throws Throwable {
+        final int initialListeners = onEventDispatchThread(() -> comp.getMouseListeners().length);
+        final CountDownLatch release = new CountDownLatch(1);
+        SwingUtilities.invokeLater(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        Disposable attached = MouseEventSource.fromMouseEventsOf(comp).subscribe();
+        Disposable disposedEarly = MouseEventSource.fromMouseEventsOf(comp).subscribe();
+        disposedEarly.dispose();
+        release.countDown();
+        assertEquals(initialListeners + 1, onEventDispatchThread(() -> comp.getMouseListeners().length));
+
+        attached.dispose();
+        assertEquals(initialListeners, onEventDispatchThread(() -> comp.getMouseListeners().length));
+    }
+
+    @Test
+    public void testSourceRejectingTheListenerIsNotRegistered() throws Throwable {
+        final EventKind<Component, MouseListener, MouseEvent> rejected = EventKind.of(
+                sink -> new MouseAdapter() {
+                },
+                (source, listener) -> {
+                    throw new IllegalStateException("rejected");
+                },
+                Component::removeMouseListener);
+
+        SwingTestHelper.create().runInEventDispatchThread(() -> {
+            TestObserver<MouseEvent> observer = SharedListeners.create(comp, rejected).test();
+            observer.assertError(IllegalStateException.class);
+            assertFalse(SharedListeners.isRegistered(comp));
+
+            Disposable sub = MouseEventSource.fromMouseEventsOf(comp).subscribe();
+            assertTrue(SharedListeners.isRegistered(comp));
+            sub.dispose();
+            assertFalse(SharedListeners.isRegistered(comp));
+        }).awaitTerminal();
+    }
+
+    private static int onEventDispatchThread(IntSupplier supplier) throws Exception {
+        final int[] result = new int[1];
+        SwingUtilities.invokeAndWait(() -> result[0] = supplier.getAsInt());
+        return result[0];
+    }
+
+    private MouseEvent mouseEvent() {
+        return new MouseEvent(comp, MouseEvent.MOUSE_CLICKED, 1L, 0, 0, 0, 1, false);
+    }
+
+    private void fireMouseEvent(MouseEvent event) {
+        for (MouseListener listener : comp.getMouseListeners()) {
+            listener.mouseClicked(event);
+        }
+    }
+}
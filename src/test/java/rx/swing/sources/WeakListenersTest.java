@@ -0,0 +1,128 @@
+/**
+ * Copyright 2014 Netflix, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package rx.swing.sources;
+
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.functions.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import javax.swing.event.ListSelectionEvent;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class WeakListenersTest {
+    private final DefaultListSelectionModel model = new DefaultListSelectionModel();
+
+    @BeforeEach
+    public void enable() {
+        WeakListeners.setEnabled(true);
+    }
+
+    @AfterEach
+    public void disable() {
+        WeakListeners.setEnabled(false);
+    }
+
+    @Test
+    public void testListenerRemovesItselfOnceTheSubscribersAreCollected() throws Throwable {
+        final WeakReference<Consumer<ListSelectionEvent>> subscriber = subscribeAndForget();
+        assertEquals(1, listenerCount());
+
+        awaitCollection("the subscriber was not collected", () -> subscriber.get() == null);
+
+        SwingTestHelper.create().runInEventDispatchThread(() -> {
+            model.setSelectionInterval(0, 1);
+            assertEquals(0, model.getListSelectionListeners().length);
+        }).awaitTerminal();
+    }
+
+    @Test
+    public void testListenerIsRemovedWithoutAnEventOnceTheSubscribersAreCollected() throws Throwable {
+        final DefaultListSelectionModel other = new DefaultListSelectionModel();
+        final WeakReference<Consumer<ListSelectionEvent>> subscriber = subscribeAndForget();
+        assertEquals(1, listenerCount());
+
+        // any later subscription or disposal removes the listener, not only the next event of the model
+        awaitCollection("the listener of the collected subscriber was not removed", () -> {
+            SwingTestHelper.create().runInEventDispatchThread(() ->
+                    ListSelectionEventSource.fromListSelectionEventsOf(other).subscribe().dispose()
+            ).awaitTerminal();
+            return listenerCount() == 0;
+        });
+        assertNull(subscriber.get());
+    }
+
+    @Test
+    public void testHeldSubscriptionKeepsReceivingEvents() throws Throwable {
+        final AtomicInteger events = new AtomicInteger();
+        final Disposable[] subscription = new Disposable[1];
+        SwingTestHelper.create().runInEventDispatchThread(() ->
+                subscription[0] = ListSelectionEventSource.fromListSelectionEventsOf(model).subscribe(event -> events.incrementAndGet())
+        ).awaitTerminal();
+
+        System.gc();
+        SwingTestHelper.create().runInEventDispatchThread(() -> {
+            model.setSelectionInterval(0, 1);
+            assertEquals(1, events.get());
+            assertEquals(1, model.getListSelectionListeners().length);
+
+            subscription[0].dispose();
+            assertEquals(0, model.getListSelectionListeners().length);
+        }).awaitTerminal();
+    }
+
+    /**
+     * Runs the garbage collector until the condition holds, and fails with the message if it does not within 10 seconds.
+     */
+    static void awaitCollection(String message, Condition collected) throws Throwable {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!collected.holds()) {
+            if (System.nanoTime() - deadline >= 0) {
+                fail(message + " within 10 seconds");
+            }
+            System.gc();
+            // references are cleared and enqueued by the reference handler thread
+            Thread.sleep(10);
+        }
+    }
+
+    interface Condition {
+        boolean holds() throws Throwable;
+    }
+
+    private WeakReference<Consumer<ListSelectionEvent>> subscribeAndForget() throws Throwable {
+        final AtomicInteger events = new AtomicInteger();
+        final Consumer<ListSelectionEvent> subscriber = event -> events.incrementAndGet();
+        SwingTestHelper.create().runInEventDispatchThread(() ->
+                ListSelectionEventSource.fromListSelectionEventsOf(model).subscribe(subscriber)
+        ).awaitTerminal();
+        return new WeakReference<>(subscriber);
+    }
+
+    private int listenerCount() throws Throwable {
+        final int[] count = new int[1];
+        SwingTestHelper.create().runInEventDispatchThread(() -> count[0] = model.getListSelectionListeners().length).awaitTerminal();
+        return count[0];
+    }
+}